@@ -4,32 +4,109 @@ set -e
 usage() {
     echo "ATG Engine Verifier"
     echo ""
-    echo "Usage: docker run --rm -v \$(pwd)/target:/jars ghcr.io/brandeis-cosi-103a/atg-engine-verifier /jars/engine.jar com.example.MyEngine"
+    echo "Usage: docker run --rm -v \$(pwd)/target:/jars ghcr.io/brandeis-cosi-103a/atg-engine-verifier /jars/engine.jar com.example.MyEngine [NUM_GAMES]"
     echo ""
     echo "Arguments:"
     echo "  JAR_PATH      Path to the student's engine JAR (mounted via -v)"
     echo "  CLASS_NAME    Fully qualified class name of the Engine implementation"
+    echo "  NUM_GAMES     Number of games to play (default 10)"
     echo ""
     echo "Options:"
     echo "  --verbose     Show detailed output including game traces"
+    echo "  --verbose-dir DIR      Write each game's trace to DIR, gzipped, with an index.tsv"
+    echo "  --verbose-failed-only  With --verbose-dir, keep only failed games' traces"
+    echo "  --progress    Print progress, throughput and violations so far every 5 seconds"
+    echo "  --max-decisions N  Stop a game as non-terminating after N decisions"
+    echo "  --max-turns N      Stop a game as non-terminating after N turns"
+    echo "  --cycle-turns N    Stop a game as cycling after N turns per player with an unchanged"
+    echo "                     supply and only recurring states (0 disables)"
+    echo "  --jfr FILE         Write a Java Flight Recording of the run to FILE"
+    echo "  --seed N           Run seed that every game's setup is derived from (default 42)"
+    echo "  --shard i/n        Run only slice i (0-based) of n of the games"
+    echo "  --shard-out FILE   Write this run's partial result to FILE for --merge"
+    echo "  --merge FILE...    Combine shard result files into one report"
+    echo "  --checks LIST      Run only these checks, e.g. legal-decisions,supply-depletion"
+    echo "  --lean             Keep only the data the enabled checks need while recording"
+    echo "  --determinism N    Play the first N games twice more in parallel and flag differences"
+    echo "  --baseline-out FILE  Measure throughput over --trials runs and store it as a baseline"
+    echo "  --gate FILE          Replay FILE's seed plan and exit 3 if slower than its baseline"
+    echo "  --gate-threshold PCT Allowed slowdown in percent before the gate fails (default 10)"
+    echo "  --trials N           Runs per throughput measurement; the fastest counts (default 3)"
+    echo "  --profile-engine FILE  Print engine time by phase and callback; write flame graph stacks to FILE"
+    echo "  --adaptive    Give more games to the player setups that find more violations"
+    echo "  --cheat-deadline SECONDS  Time limit for each adversarial (cheating player) game (default 30)"
+    echo "  --corpus FILE Replay games that found violations in earlier runs first; record new ones in FILE"
     echo "  --help        Show this help message"
     echo ""
+    echo "Trace diff mode:"
+    echo "  --diff A B CLASS [numGames] [--seed N]"
+    echo "                     Play the same games on engines A and B (JARs or trace directories)"
+    echo "                     and show where each game first behaves differently"
+    echo "  --diff --record JAR CLASS DIR [numGames] [--seed N]"
+    echo "                     Store each game's trace in DIR for a later --diff"
+    echo ""
+    echo "Server mode:"
+    echo "  --server [PORT]    Run a long-lived verifier that accepts jobs on PORT (default 8347)"
+    echo "  VERIFIER_URL       If set (e.g. http://127.0.0.1:8347), send the job to that server"
+    echo "                     instead of starting a new JVM"
+    echo "  VERIFIER_OUTPUT_DIR  Directory a server's jobs may read and write files in"
+    echo "                     (default /output)"
+    echo ""
     echo "Exit codes:"
     echo "  0 - Engine is compliant (all invariant checks passed)"
     echo "  1 - Violations detected (engine does not comply with game rules)"
     echo "  2 - Error (invalid arguments, JAR not found, class not found, etc.)"
+    echo "  3 - Throughput regression against the --gate baseline"
     exit 2
 }
 
+# Whether $1 is a plain non-negative number
+is_count() {
+    case "$1" in
+        ''|*[!0-9]*) return 1 ;;
+        *) return 0 ;;
+    esac
+}
+
+# Quote one argument for a later eval, so spaces and wildcards survive intact
+quote() {
+    printf "'%s'" "$(printf '%s' "$1" | sed "s/'/'\\\\''/g")"
+}
+
+# Percent-encode every byte of one argument for a form body
+urlencode() {
+    printf '%s' "$1" | od -An -tx1 -v | tr -d ' \n' | sed 's/../%&/g'
+}
+
 # Check for help flag
 if [ "$1" = "--help" ] || [ "$1" = "-h" ]; then
     usage
 fi
 
+# Server mode: keep one warm JVM running and accept jobs over HTTP
+if [ "$1" = "--server" ]; then
+    exec java -cp /app/verifier.jar edu.brandeis.cosi103a.verifier.VerifierServer "${2:-8347}" 127.0.0.1 \
+        --output-dir "${VERIFIER_OUTPUT_DIR:-/output}"
+fi
+
+# Merge mode: combine shard result files written with --shard-out
+if [ "$1" = "--merge" ]; then
+    shift
+    exec java -cp /app/verifier.jar edu.brandeis.cosi103a.verifier.VerifierHarness --merge "$@"
+fi
+
+# Trace diff mode: compare two engine versions game by game
+if [ "$1" = "--diff" ]; then
+    shift
+    exec java -cp /app/verifier.jar edu.brandeis.cosi103a.verifier.TraceDiff "$@"
+fi
+
 # Parse arguments
 VERBOSE=""
+OPTIONS=""
 JAR_PATH=""
 CLASS_NAME=""
+NUM_GAMES=""
 
 while [ $# -gt 0 ]; do
     case "$1" in
@@ -37,6 +114,14 @@ while [ $# -gt 0 ]; do
             VERBOSE="--verbose"
             shift
             ;;
+        --progress|--lean|--adaptive|--verbose-failed-only)
+            OPTIONS="$OPTIONS $(quote "$1")"
+            shift
+            ;;
+        --max-decisions|--max-turns|--cycle-turns|--jfr|--seed|--shard|--shard-out|--checks|--determinism|--baseline-out|--gate|--gate-threshold|--trials|--profile-engine|--cheat-deadline|--verbose-dir|--corpus)
+            OPTIONS="$OPTIONS $(quote "$1") $(quote "$2")"
+            shift 2
+            ;;
         --help|-h)
             usage
             ;;
@@ -45,6 +130,8 @@ while [ $# -gt 0 ]; do
                 JAR_PATH="$1"
             elif [ -z "$CLASS_NAME" ]; then
                 CLASS_NAME="$1"
+            elif [ -z "$NUM_GAMES" ] && is_count "$1"; then
+                NUM_GAMES="$1"
             else
                 echo "Error: Too many arguments"
                 usage
@@ -70,5 +157,20 @@ if [ ! -f "$JAR_PATH" ]; then
     exit 2
 fi
 
+# The job's arguments as one list, each kept whole
+eval "set -- $(quote "$JAR_PATH") $(quote "$CLASS_NAME") $NUM_GAMES $VERBOSE $OPTIONS"
+
+# Thin client: post the job to a running server and stream its output.
+# The body is a form of "arg" fields in order; the server's last line is "exit=<code>".
+if [ -n "$VERIFIER_URL" ]; then
+    JOB=""
+    for ARG in "$@"; do
+        JOB="$JOB${JOB:+&}arg=$(urlencode "$ARG")"
+    done
+    wget -q -O - --post-data="$JOB" "$VERIFIER_URL/verify" \
+        | awk '/^exit=/ { code = substr($0, 6); next } { print; fflush() } END { exit (code == "" ? 2 : code) }'
+    exit $?
+fi
+
 # Run the verifier
-exec java -cp "/app/verifier.jar:$JAR_PATH" edu.brandeis.cosi103a.verifier.VerifierHarness "$JAR_PATH" "$CLASS_NAME" $VERBOSE
+exec java -cp "/app/verifier.jar:$JAR_PATH" edu.brandeis.cosi103a.verifier.VerifierHarness "$@"
@@ -0,0 +1,319 @@
+package edu.brandeis.cosi103a.verifier;
+
+import edu.brandeis.cosi.atg.engine.Engine;
+import edu.brandeis.cosi.atg.engine.PlayerViolationException;
+import edu.brandeis.cosi.atg.player.Player;
+import edu.brandeis.cosi.atg.state.GameState;
+import edu.brandeis.cosi103a.verifier.strategies.BigMoneyStrategy;
+
+import java.io.PrintStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Checks how the engine handles players that break the rules. Each {@link Case}
+ * plays one game of a {@link CheatingPlayer} against an honest BigMoney player,
+ * cheating in a given way at a given point. All games run at once, each on its own
+ * daemon thread, and each must finish within the deadline: a game still running then
+ * is abandoned and reported, so an engine that hangs on a cheat cannot stall the run.
+ * Both seats share a {@link TerminationGuard}, so an engine that loops while still
+ * asking for decisions is stopped deterministically; only an engine that loops without
+ * asking for any keeps its thread past the deadline, and those threads are counted
+ * in the scorecard. The scorecard also shows how each game ended and how long the
+ * engine took between receiving the cheat and giving up on the game.
+ */
+public final class AdversarialSuite {
+    static final String NAME = "PlayerViolationException";
+    private static final Duration ABANDON_GRACE = Duration.ofMillis(200);
+
+    /**
+     * One adversarial game: the cheater plays honestly for afterCalls decisions, then
+     * cheats at its next decision in the given phase (any phase if null).
+     */
+    record Case(String name, CheatingPlayer.Cheat cheat, int afterCalls, GameState.TurnPhase phase, Duration delay) {
+        boolean expectsRejection() {
+            return cheat != CheatingPlayer.Cheat.SLOW;
+        }
+
+        String point() {
+            String point = "after " + afterCalls + " decisions";
+            if (phase != null) point += ", in " + phase;
+            if (!delay.isZero()) point += ", " + delay.toMillis() + " ms";
+            return point;
+        }
+    }
+
+    static final List<Case> CASES = List.of(
+            cheat("outside-options", CheatingPlayer.Cheat.OUTSIDE_OPTIONS, 2, null),
+            cheat("outside-options-action", CheatingPlayer.Cheat.OUTSIDE_OPTIONS, 10, GameState.TurnPhase.ACTION),
+            cheat("outside-options-money", CheatingPlayer.Cheat.OUTSIDE_OPTIONS, 10, GameState.TurnPhase.MONEY),
+            cheat("outside-options-buy", CheatingPlayer.Cheat.OUTSIDE_OPTIONS, 10, GameState.TurnPhase.BUY),
+            cheat("outside-options-late", CheatingPlayer.Cheat.OUTSIDE_OPTIONS, 150, null),
+            cheat("wrong-phase-action", CheatingPlayer.Cheat.WRONG_PHASE, 2, GameState.TurnPhase.ACTION),
+            cheat("wrong-phase-buy", CheatingPlayer.Cheat.WRONG_PHASE, 10, GameState.TurnPhase.BUY),
+            cheat("null", CheatingPlayer.Cheat.NULL, 2, null),
+            cheat("null-buy", CheatingPlayer.Cheat.NULL, 10, GameState.TurnPhase.BUY),
+            cheat("throw", CheatingPlayer.Cheat.THROW, 2, null),
+            cheat("throw-buy", CheatingPlayer.Cheat.THROW, 10, GameState.TurnPhase.BUY),
+            new Case("slow-outside-options", CheatingPlayer.Cheat.OUTSIDE_OPTIONS, 10, GameState.TurnPhase.BUY,
+                    Duration.ofMillis(500)),
+            new Case("slow", CheatingPlayer.Cheat.SLOW, 10, GameState.TurnPhase.BUY, Duration.ofMillis(500)));
+
+    private static Case cheat(String name, CheatingPlayer.Cheat cheat, int afterCalls, GameState.TurnPhase phase) {
+        return new Case(name, cheat, afterCalls, phase, Duration.ZERO);
+    }
+
+    /** How an adversarial game ended. */
+    enum Outcome {
+        /** PlayerViolationException after the cheat. */
+        REJECTED("rejected"),
+        /** The player's own exception came out of the engine. */
+        PLAYER_EXCEPTION("player exception"),
+        /** Some other exception after the cheat. */
+        OTHER_EXCEPTION("other exception"),
+        /** The game finished although the player cheated. */
+        ACCEPTED("accepted"),
+        /** The game finished and the player never cheated (slow case). */
+        COMPLETED("completed"),
+        /** The game ended before the cheat's trigger point. */
+        NOT_TRIGGERED("not triggered"),
+        /** An exception although every decision so far was legal. */
+        FAILED_LEGAL("failed on legal play"),
+        /** The termination guard stopped the game as cycling or over budget. */
+        NON_TERMINATING("did not end"),
+        /** The game was still running at the deadline. */
+        TIMED_OUT("timed out");
+
+        final String label;
+
+        Outcome(String label) {
+            this.label = label;
+        }
+    }
+
+    /**
+     * @param reactionNanos time from the cheat reaching the engine to the engine throwing, or -1
+     */
+    record Result(Case c, Outcome outcome, long reactionNanos, String detail) {
+    }
+
+    private final EngineLoader loader;
+    private final KingdomPlan kingdoms;
+    private final int firstGameIndex;
+    private final TerminationGuard.Limits limits;
+    private final Duration deadline;
+    private List<Result> results = List.of();
+    private List<Thread> abandoned = List.of();
+
+    /**
+     * @param firstGameIndex game index of the first case, whose kingdom it plays; the
+     *                       other cases play the kingdoms of the indices after it
+     */
+    AdversarialSuite(EngineLoader loader, KingdomPlan kingdoms, int firstGameIndex,
+                     TerminationGuard.Limits limits, Duration deadline) {
+        this.loader = loader;
+        this.kingdoms = kingdoms;
+        this.firstGameIndex = firstGameIndex;
+        this.limits = limits;
+        this.deadline = deadline;
+    }
+
+    /**
+     * Plays every case at once and waits for each up to the deadline.
+     */
+    List<Result> run() {
+        ExecutorService executor = Executors.newCachedThreadPool(
+                Thread.ofPlatform().name("adversarial-", 0).daemon().factory());
+        try {
+            long start = System.nanoTime();
+            List<Future<Result>> futures = new ArrayList<>();
+            AtomicReferenceArray<Thread> threads = new AtomicReferenceArray<>(CASES.size());
+            for (int k = 0; k < CASES.size(); k++) {
+                Case c = CASES.get(k);
+                int index = k;
+                futures.add(executor.submit(() -> {
+                    threads.set(index, Thread.currentThread());
+                    return play(c, firstGameIndex + index);
+                }));
+            }
+            List<Thread> timedOut = new ArrayList<>();
+            List<Result> played = new ArrayList<>();
+            for (int k = 0; k < CASES.size(); k++) {
+                long remaining = start + deadline.toNanos() - System.nanoTime();
+                try {
+                    played.add(futures.get(k).get(Math.max(remaining, 0), TimeUnit.NANOSECONDS));
+                } catch (TimeoutException e) {
+                    futures.get(k).cancel(true);
+                    if (threads.get(k) != null) timedOut.add(threads.get(k));
+                    played.add(new Result(CASES.get(k), Outcome.TIMED_OUT, -1,
+                            "still running after " + deadline.toSeconds() + " s"));
+                } catch (ExecutionException e) {
+                    throw new IllegalStateException("Adversarial game " + CASES.get(k).name() + " failed", e.getCause());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted while waiting for adversarial games", e);
+                }
+            }
+            results = played;
+            abandoned = List.copyOf(stillRunning(timedOut));
+            return played;
+        } finally {
+            executor.shutdownNow(); // abandons timed-out games; their threads are daemons
+        }
+    }
+
+    /**
+     * Threads of timed-out games that have not stopped, after a short grace period for
+     * those that react to the interrupt.
+     */
+    private static List<Thread> stillRunning(List<Thread> timedOut) {
+        List<Thread> running = new ArrayList<>();
+        for (Thread thread : timedOut) {
+            try {
+                if (!thread.join(ABANDON_GRACE)) running.add(thread);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running.add(thread);
+            }
+        }
+        return running;
+    }
+
+    /**
+     * How many threads of the last run's timed-out games are still running engine
+     * code. They are daemons and cannot be stopped, so a long-lived process should
+     * keep track of them.
+     */
+    public int abandonedThreadsAlive() {
+        return (int) abandoned.stream().filter(Thread::isAlive).count();
+    }
+
+    /**
+     * The threads of the last run's timed-out games that had not stopped when it
+     * returned; some may have ended since.
+     */
+    public List<Thread> abandonedThreads() {
+        return abandoned;
+    }
+
+    private Result play(Case c, int gameIndex) {
+        CheatingPlayer cheater = new CheatingPlayer("Cheater", c.cheat(), c.afterCalls(), c.phase(), c.delay());
+        VerifierPlayer honest = new VerifierPlayer("Honest", new BigMoneyStrategy());
+        TerminationGuard guard = new TerminationGuard(limits);
+        cheater.setGuard(guard);
+        honest.setGuard(guard);
+        Outcome outcome;
+        String detail = "";
+        long reaction = -1;
+        try {
+            List<Player> players = List.of(cheater, honest);
+            Engine engine = loader.create(players, kingdoms.kingdomFor(gameIndex));
+            engine.play();
+            if (guard.tripped()) {
+                outcome = Outcome.NON_TERMINATING; // the engine swallowed the guard's exception
+                detail = guard.violation(gameIndex, -1).description();
+            } else {
+                outcome = !cheater.cheated() ? Outcome.NOT_TRIGGERED
+                        : c.expectsRejection() ? Outcome.ACCEPTED : Outcome.COMPLETED;
+            }
+        } catch (Exception e) {
+            detail = e.getClass().getSimpleName() + (e.getMessage() != null ? ": " + e.getMessage() : "");
+            if (cheater.cheated()) {
+                reaction = System.nanoTime() - cheater.cheatedAt();
+            }
+            if (guard.tripped()) {
+                outcome = Outcome.NON_TERMINATING;
+                detail = guard.violation(gameIndex, -1).description();
+            } else if (!cheater.cheated() || !c.expectsRejection()) {
+                outcome = Outcome.FAILED_LEGAL;
+            } else if (e instanceof PlayerViolationException) {
+                outcome = Outcome.REJECTED;
+            } else if (causedByCheater(e)) {
+                outcome = Outcome.PLAYER_EXCEPTION;
+            } else {
+                outcome = Outcome.OTHER_EXCEPTION;
+            }
+        }
+        return new Result(c, outcome, reaction, detail);
+    }
+
+    private static boolean causedByCheater(Throwable e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof CheatingPlayer.CheaterException) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Violations for cheats the engine let through, games that missed the deadline, and
+     * games that failed without the player having cheated. Other exceptions after a
+     * cheat are accepted, as is the player's own exception surfacing.
+     */
+    List<Violation> violations() {
+        List<Violation> violations = new ArrayList<>();
+        for (int k = 0; k < results.size(); k++) {
+            Result r = results.get(k);
+            int gameIndex = firstGameIndex + k;
+            String description = switch (r.outcome()) {
+                case ACCEPTED -> "Engine did not throw PlayerViolationException for " + r.c().name()
+                        + " (" + r.c().point() + ")";
+                case TIMED_OUT -> "Engine did not finish the " + r.c().name() + " game within "
+                        + deadline.toSeconds() + " s";
+                case NON_TERMINATING -> "Engine did not end the " + r.c().name() + " game (" + r.c().point()
+                        + "): " + r.detail();
+                case FAILED_LEGAL -> r.c().expectsRejection()
+                        ? "Engine failed the " + r.c().name() + " game before the player cheated: " + r.detail()
+                        : "Engine failed a game whose player only decided slowly (" + r.c().point() + "): "
+                        + r.detail();
+                default -> null;
+            };
+            if (description != null) {
+                violations.add(new Violation(NAME, description, gameIndex));
+            }
+        }
+        return violations;
+    }
+
+    public void printScorecard(PrintStream out) {
+        long stopped = results.stream().filter(r -> stopped(r.outcome())).count();
+        long cheats = stopped + results.stream().filter(r -> r.c().expectsRejection()
+                && (r.outcome() == Outcome.ACCEPTED || r.outcome() == Outcome.TIMED_OUT
+                || r.outcome() == Outcome.NON_TERMINATING)).count();
+        out.println(String.format("Adversarial games: %d played at once, %d of %d cheats stopped, deadline %d s",
+                results.size(), stopped, cheats, deadline.toSeconds()));
+        out.println(String.format("  %-24s %-36s %-20s %13s", "case", "cheat point", "outcome", "reaction (ms)"));
+        Map<CheatingPlayer.Cheat, long[]> byCheat = new EnumMap<>(CheatingPlayer.Cheat.class); // games, stopped
+        for (Result r : results) {
+            out.println(String.format("  %-24s %-36s %-20s %13s", r.c().name(), r.c().point(), r.outcome().label,
+                    r.reactionNanos() < 0 ? "-" : String.format("%.2f", r.reactionNanos() / 1e6)));
+            long[] counts = byCheat.computeIfAbsent(r.c().cheat(), k -> new long[2]);
+            counts[0]++;
+            if (stopped(r.outcome()) || r.outcome() == Outcome.COMPLETED) {
+                counts[1]++;
+            }
+        }
+        StringBuilder summary = new StringBuilder("  handled as expected:");
+        byCheat.forEach((cheat, counts) -> summary.append(' ').append(cheat).append(' ')
+                .append(counts[1]).append('/').append(counts[0]));
+        out.println(summary);
+        int alive = abandonedThreadsAlive();
+        if (alive > 0) {
+            out.println("  " + alive + " timed-out game thread(s) still running engine code");
+        }
+    }
+
+    private static boolean stopped(Outcome outcome) {
+        return outcome == Outcome.REJECTED || outcome == Outcome.PLAYER_EXCEPTION
+                || outcome == Outcome.OTHER_EXCEPTION;
+    }
+}
@@ -4,23 +4,71 @@ import com.google.common.collect.ImmutableList;
 import edu.brandeis.cosi.atg.cards.Card;
 import edu.brandeis.cosi.atg.decisions.BuyDecision;
 import edu.brandeis.cosi.atg.decisions.Decision;
+import edu.brandeis.cosi.atg.decisions.EndPhaseDecision;
+import edu.brandeis.cosi.atg.decisions.PlayCardDecision;
 import edu.brandeis.cosi.atg.event.Event;
 import edu.brandeis.cosi.atg.event.GameObserver;
 import edu.brandeis.cosi.atg.player.Player;
 import edu.brandeis.cosi.atg.state.GameState;
 
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.Optional;
 
 /**
- * A player that returns an invalid decision (not from the offered options)
- * to verify the engine throws PlayerViolationException.
+ * A player that plays the first offered option until a trigger point, then cheats
+ * once in a chosen way to verify the engine throws PlayerViolationException. If the
+ * engine lets the cheat through, the player goes back to the first offered option so
+ * the game can finish.
  */
 public class CheatingPlayer implements Player {
+
+    /** The ways a CheatingPlayer can break the rules. */
+    public enum Cheat {
+        /** A BuyDecision for a card the engine did not offer. */
+        OUTSIDE_OPTIONS,
+        /** A decision of a kind that belongs to another phase, e.g. playing a card while buying. */
+        WRONG_PHASE,
+        /** null instead of a decision. */
+        NULL,
+        /** Throws from makeDecision instead of deciding. */
+        THROW,
+        /** No cheat: takes the delay and then decides legally, which the engine should wait for. */
+        SLOW
+    }
+
+    /** Thrown by a {@link Cheat#THROW} player. */
+    static final class CheaterException extends RuntimeException {
+        CheaterException(String message) {
+            super(message);
+        }
+    }
+
     private final String name;
+    private final Cheat cheat;
+    private final int afterCalls;
+    private final GameState.TurnPhase phase;
+    private final Duration delay;
     private int callCount = 0;
+    private volatile long cheatedAt = -1;
+    private TerminationGuard guard;
 
     public CheatingPlayer(String name) {
+        this(name, Cheat.OUTSIDE_OPTIONS, 2, null, Duration.ZERO);
+    }
+
+    /**
+     * @param afterCalls number of honest decisions before the cheat
+     * @param phase      phase the cheat waits for once past afterCalls, or null for any
+     * @param delay      how long to take over the cheating decision
+     */
+    public CheatingPlayer(String name, Cheat cheat, int afterCalls, GameState.TurnPhase phase, Duration delay) {
         this.name = name;
+        this.cheat = cheat;
+        this.afterCalls = afterCalls;
+        this.phase = phase;
+        this.delay = delay;
     }
 
     @Override
@@ -33,14 +81,94 @@ public class CheatingPlayer implements Player {
         return Optional.empty();
     }
 
+    /**
+     * Stops the game through the given guard once it stops terminating; share it with
+     * the other players of the game.
+     */
+    void setGuard(TerminationGuard guard) {
+        this.guard = guard;
+    }
+
+    /**
+     * Whether the cheat has happened yet.
+     */
+    public boolean cheated() {
+        return cheatedAt >= 0;
+    }
+
+    /**
+     * System.nanoTime() at which the cheating decision was handed to the engine, or -1.
+     */
+    long cheatedAt() {
+        return cheatedAt;
+    }
+
     @Override
     public Decision makeDecision(GameState state, ImmutableList<Decision> options, Optional<Event> event) {
+        if (guard != null) {
+            guard.onDecision(name, state);
+        }
         callCount++;
-        // First few calls: play normally so the game starts
-        if (callCount <= 2) {
+        if (cheated() || callCount <= afterCalls || (phase != null && state.phase() != phase)) {
             return options.get(0);
         }
-        // Then return a decision NOT in the options list
-        return new BuyDecision(Card.Type.FRAMEWORK);
+        if (!delay.isZero()) {
+            try {
+                Thread.sleep(delay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        Decision decision = switch (cheat) {
+            case OUTSIDE_OPTIONS -> outsideOptions(options);
+            case WRONG_PHASE -> wrongPhase(state, options);
+            case NULL -> null;
+            case THROW -> {
+                cheatedAt = System.nanoTime();
+                throw new CheaterException(name + " refused to decide");
+            }
+            case SLOW -> options.get(0);
+        };
+        cheatedAt = System.nanoTime();
+        return decision;
+    }
+
+    /**
+     * The most expensive card the engine did not offer to buy.
+     */
+    private static Decision outsideOptions(ImmutableList<Decision> options) {
+        Card.Type best = null;
+        for (Card.Type type : Card.Type.values()) {
+            if (!options.contains(new BuyDecision(type)) && (best == null || type.cost() > best.cost())) {
+                best = type;
+            }
+        }
+        return new BuyDecision(best);
+    }
+
+    /**
+     * A buy outside the buy phase, a play of an unplayed card while it is not offered
+     * (e.g. while buying), or else ending a phase other than the current one.
+     */
+    private static Decision wrongPhase(GameState state, ImmutableList<Decision> options) {
+        if (state.phase() != GameState.TurnPhase.BUY && options.stream().noneMatch(d -> d instanceof BuyDecision)) {
+            Card.Type cheapest = Arrays.stream(Card.Type.values())
+                    .min(Comparator.comparingInt(Card.Type::cost))
+                    .orElseThrow();
+            return new BuyDecision(cheapest);
+        }
+        for (Card card : state.currentPlayerHand().unplayedCards()) {
+            Decision play = new PlayCardDecision(card);
+            if (!options.contains(play)) {
+                return play;
+            }
+        }
+        for (GameState.TurnPhase other : GameState.TurnPhase.values()) {
+            Decision end = new EndPhaseDecision(other);
+            if (other != state.phase() && !options.contains(end)) {
+                return end;
+            }
+        }
+        return outsideOptions(options);
     }
 }
@@ -0,0 +1,154 @@
+package edu.brandeis.cosi103a.verifier;
+
+import com.google.common.collect.ImmutableList;
+import edu.brandeis.cosi.atg.cards.Card;
+import edu.brandeis.cosi.atg.decisions.BuyDecision;
+import edu.brandeis.cosi.atg.decisions.Decision;
+import edu.brandeis.cosi.atg.decisions.DiscardCardDecision;
+import edu.brandeis.cosi.atg.decisions.EndPhaseDecision;
+import edu.brandeis.cosi.atg.decisions.GainCardDecision;
+import edu.brandeis.cosi.atg.decisions.PlayCardDecision;
+
+import java.util.Arrays;
+
+/**
+ * The options of one makeDecision call sorted by kind, so a strategy can look up
+ * "the Framework buy" or "the first money play" without walking the list with
+ * instanceof chains. Buys and gains are indexed by card type ordinal, plays by card
+ * category; each slot holds the position of the first such option, or -1. Where
+ * several options qualify (e.g. the highest-cost gain), the earliest one wins, as
+ * it would for a strategy scanning the list in order.
+ *
+ * <p>A VerifierPlayer keeps one instance and reclassifies it on every decision, so
+ * classifying and looking up options allocate nothing. The rest of makeDecision still
+ * allocates the DecisionRecord kept in the trace and a JFR DecisionEvent. A view is
+ * only valid until the next {@link #classify} call and must not be kept.
+ */
+public final class ClassifiedOptions {
+    private static final Card.Type[] TYPES = Card.Type.values();
+
+    private final int[] buys = new int[TYPES.length];
+    private final int[] gains = new int[TYPES.length];
+    private final int[] plays = new int[Card.Type.Category.values().length];
+    private int endPhase;
+    private int discard;
+    private ImmutableList<Decision> options = ImmutableList.of();
+
+    /**
+     * Replaces this view's contents with the given options and returns it.
+     */
+    public ClassifiedOptions classify(ImmutableList<Decision> options) {
+        this.options = options;
+        Arrays.fill(buys, -1);
+        Arrays.fill(gains, -1);
+        Arrays.fill(plays, -1);
+        endPhase = -1;
+        discard = -1;
+        for (int i = 0; i < options.size(); i++) { // indexed, so no iterator is allocated
+            Decision d = options.get(i);
+            if (d instanceof BuyDecision b) {
+                int t = b.cardType().ordinal();
+                if (buys[t] < 0) buys[t] = i;
+            } else if (d instanceof GainCardDecision g) {
+                int t = g.cardType().ordinal();
+                if (gains[t] < 0) gains[t] = i;
+            } else if (d instanceof PlayCardDecision p) {
+                int c = p.card().category().ordinal();
+                if (plays[c] < 0) plays[c] = i;
+            } else if (d instanceof EndPhaseDecision) {
+                if (endPhase < 0) endPhase = i;
+            } else if (d instanceof DiscardCardDecision) {
+                if (discard < 0) discard = i;
+            }
+        }
+        return this;
+    }
+
+    public ImmutableList<Decision> options() {
+        return options;
+    }
+
+    public int size() {
+        return options.size();
+    }
+
+    public Decision get(int index) {
+        return options.get(index);
+    }
+
+    /** Position of the first BuyDecision for the type, or -1. */
+    public int buyIndex(Card.Type type) {
+        return buys[type.ordinal()];
+    }
+
+    /** Position of the first GainCardDecision for the type, or -1. */
+    public int gainIndex(Card.Type type) {
+        return gains[type.ordinal()];
+    }
+
+    /** Position of the first PlayCardDecision for a card of the category, or -1. */
+    public int firstPlayIndex(Card.Type.Category category) {
+        return plays[category.ordinal()];
+    }
+
+    /** Position of the first EndPhaseDecision, or -1. */
+    public int endPhaseIndex() {
+        return endPhase;
+    }
+
+    /** Position of the first DiscardCardDecision, or -1. */
+    public int discardIndex() {
+        return discard;
+    }
+
+    /**
+     * Position of the buy of the most expensive card in the category, or -1.
+     */
+    public int highestCostBuy(Card.Type.Category category) {
+        return best(buys, category, false);
+    }
+
+    /**
+     * Position of the buy of the highest-value card in the category, or -1.
+     */
+    public int highestValueBuy(Card.Type.Category category) {
+        return best(buys, category, true);
+    }
+
+    /**
+     * Position of the gain of the most expensive card of any category, or -1.
+     */
+    public int highestCostGain() {
+        return best(gains, null, false);
+    }
+
+    /**
+     * The first EndPhaseDecision, or else the first option.
+     */
+    public Decision endPhaseOrFirst() {
+        return options.get(endPhase >= 0 ? endPhase : 0);
+    }
+
+    /**
+     * The first play of a card of the category, or else {@link #endPhaseOrFirst()}.
+     */
+    public Decision firstPlayOrEndPhase(Card.Type.Category category) {
+        int play = plays[category.ordinal()];
+        return play >= 0 ? options.get(play) : endPhaseOrFirst();
+    }
+
+    private static int best(int[] byType, Card.Type.Category category, boolean byValue) {
+        int best = -1;
+        int bestScore = -1;
+        for (int t = 0; t < byType.length; t++) {
+            int index = byType[t];
+            if (index < 0 || (category != null && TYPES[t].category() != category)) continue;
+            int score = byValue ? TYPES[t].value() : TYPES[t].cost();
+            if (score > bestScore || (score == bestScore && index < best)) {
+                best = index;
+                bestScore = score;
+            }
+        }
+        return best;
+    }
+}
@@ -9,10 +9,19 @@ import java.util.Optional;
 
 /**
  * A single makeDecision call captured by a VerifierPlayer.
+ *
+ * @param eventIndex number of observer events recorded before this decision, placing it
+ *                   in the game's event stream, or -1 if it was not recorded alongside one
  */
 public record DecisionRecord(
         GameState state,
         ImmutableList<Decision> options,
         Decision chosen,
-        Optional<Event> triggeringEvent) {
+        Optional<Event> triggeringEvent,
+        int eventIndex) {
+
+    public DecisionRecord(GameState state, ImmutableList<Decision> options, Decision chosen,
+                          Optional<Event> triggeringEvent) {
+        this(state, options, chosen, triggeringEvent, -1);
+    }
 }
@@ -12,5 +12,20 @@ import java.util.Optional;
  * Implementations should always return a decision from the provided options.
  */
 public interface DecisionStrategy {
+    /**
+     * Chooses from the raw options. VerifierPlayer does not call this; the built-in
+     * strategies implement it by classifying into a fresh {@link ClassifiedOptions},
+     * so each call allocates one.
+     */
     Decision choose(GameState state, ImmutableList<Decision> options, Optional<Event> event);
+
+    /**
+     * Chooses from options already classified by the calling VerifierPlayer. This is
+     * what VerifierPlayer calls; strategies that look options up by kind or card type
+     * override it to avoid scanning the list themselves. The view is only valid for
+     * the duration of the call.
+     */
+    default Decision choose(GameState state, ClassifiedOptions options, Optional<Event> event) {
+        return choose(state, options.options(), event);
+    }
 }
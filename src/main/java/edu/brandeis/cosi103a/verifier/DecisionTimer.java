@@ -0,0 +1,25 @@
+package edu.brandeis.cosi103a.verifier;
+
+/**
+ * Measures one game's decision latency: the time the engine takes from receiving a
+ * decision to asking for the next one, whichever player that is. The wait before a
+ * game's first decision (engine setup) is not counted.
+ */
+final class DecisionTimer {
+    private final LatencyHistogram histogram;
+    private long lastReturned = -1;
+
+    DecisionTimer(LatencyHistogram histogram) {
+        this.histogram = histogram;
+    }
+
+    void decisionRequested() {
+        if (lastReturned >= 0) {
+            histogram.record(System.nanoTime() - lastReturned);
+        }
+    }
+
+    void decisionReturned() {
+        lastReturned = System.nanoTime();
+    }
+}
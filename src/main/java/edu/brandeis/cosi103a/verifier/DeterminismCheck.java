@@ -0,0 +1,55 @@
+package edu.brandeis.cosi103a.verifier;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.StringJoiner;
+
+/**
+ * Cross-game check that the engine plays a game the same way every time. The game
+ * is played twice at once, on two threads, with the same players, strategy seeds
+ * and kingdom, and the two runs' step streams are compared by running hash a block
+ * at a time (see {@link TraceDiff#compare}). A difference means the engine depends
+ * on something outside the seeds, such as hash iteration order, the clock, unseeded
+ * randomness or state shared between concurrent games, which makes parallel,
+ * sharded and replayed runs unreliable.
+ */
+final class DeterminismCheck {
+    static final String NAME = "Determinism";
+
+    private final EngineLoader loader;
+    private final long seed;
+    private final TerminationGuard.Limits limits;
+
+    DeterminismCheck(EngineLoader loader, long seed, TerminationGuard.Limits limits) {
+        this.loader = loader;
+        this.seed = seed;
+        this.limits = limits;
+    }
+
+    /**
+     * Plays the game twice and returns a cross-game violation if the runs differ, or null.
+     */
+    Violation check(int gameIndex) {
+        TraceDiff.Comparison c;
+        try (StepSource first = new LiveTrace(loader, seed, gameIndex, limits);
+             StepSource second = new LiveTrace(loader, seed, gameIndex, limits)) {
+            c = TraceDiff.compare(first, second);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (c.identical()) {
+            return null;
+        }
+        StringJoiner firstRun = new StringJoiner(", ", "First run:  ", "");
+        StringJoiner secondRun = new StringJoiner(", ", "Second run: ", "");
+        for (String field : TraceDiff.differingFields(c)) {
+            firstRun.add(field + "=" + TraceDiff.field(c.stepA(), field));
+            secondRun.add(field + "=" + TraceDiff.field(c.stepB(), field));
+        }
+        return new Violation(NAME,
+                "Game " + gameIndex + " played twice with the same seeds diverged at step " + c.step()
+                        + " (turn " + c.turn() + "), after "
+                        + (c.previous() == null ? "the start" : TraceDiff.summary(c.previous())),
+                -1, -1, null, firstRun + "\n  " + secondRun);
+    }
+}
@@ -5,6 +5,7 @@ import edu.brandeis.cosi.atg.engine.Engine;
 import edu.brandeis.cosi.atg.player.Player;
 
 import java.io.File;
+import java.io.IOException;
 import java.lang.reflect.Constructor;
 import java.net.URL;
 import java.net.URLClassLoader;
@@ -14,20 +15,28 @@ import java.util.List;
  * Loads a student Engine class from a JAR file using reflection.
  * The parent classloader provides the atg-api classes so both the verifier
  * and the student engine share the same interface types.
+ * Closing the loader releases the JAR, which matters in long-lived processes.
  */
-public class EngineLoader {
+public class EngineLoader implements AutoCloseable {
 
     private final Class<?> engineClass;
+    private final URLClassLoader classLoader;
 
     public EngineLoader(String jarPath, String className) throws Exception {
         URLClassLoader loader = new URLClassLoader(
                 new URL[]{new File(jarPath).toURI().toURL()},
                 EngineLoader.class.getClassLoader()
         );
-        this.engineClass = loader.loadClass(className);
-        // Verify it implements Engine
-        if (!Engine.class.isAssignableFrom(engineClass)) {
-            throw new IllegalArgumentException(className + " does not implement Engine");
+        this.classLoader = loader;
+        try {
+            this.engineClass = loader.loadClass(className);
+            // Verify it implements Engine
+            if (!Engine.class.isAssignableFrom(engineClass)) {
+                throw new IllegalArgumentException(className + " does not implement Engine");
+            }
+        } catch (Exception e) {
+            loader.close();
+            throw e;
         }
     }
 
@@ -36,6 +45,7 @@ public class EngineLoader {
      */
     public EngineLoader(Class<? extends Engine> engineClass) {
         this.engineClass = engineClass;
+        this.classLoader = null;
     }
 
     /**
@@ -52,4 +62,11 @@ public class EngineLoader {
             return (Engine) ctor.newInstance(players);
         }
     }
+
+    @Override
+    public void close() throws IOException {
+        if (classLoader != null) {
+            classLoader.close();
+        }
+    }
 }
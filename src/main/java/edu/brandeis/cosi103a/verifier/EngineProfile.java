@@ -0,0 +1,78 @@
+package edu.brandeis.cosi103a.verifier;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+/**
+ * Engine time of a whole run, summed from each game's {@link EngineTimer}, broken
+ * down by turn phase and by callback (decision or event type). Prints as text tables
+ * and writes as collapsed stacks ({@code engine;PHASE;callback microseconds}, one per
+ * line), the input format of flamegraph.pl, speedscope and similar tools.
+ */
+public final class EngineProfile {
+    private final Map<EngineTimer.Slot, long[]> totals = new HashMap<>();
+    private int games;
+
+    synchronized void add(EngineTimer game) {
+        game.totals().forEach((slot, total) -> {
+            long[] sum = totals.computeIfAbsent(slot, k -> new long[2]);
+            sum[0] += total[0];
+            sum[1] += total[1];
+        });
+        games++;
+    }
+
+    public synchronized void printTables(PrintStream out) {
+        long totalNanos = totals.values().stream().mapToLong(t -> t[0]).sum();
+        out.println(String.format("Engine time: %.1f ms over %d games", totalNanos / 1e6, games));
+        printTable(out, "phase", EngineTimer.Slot::phase, totalNanos);
+        printTable(out, "callback", EngineTimer.Slot::callback, totalNanos);
+    }
+
+    public synchronized void writeCollapsed(Path file) throws IOException {
+        Map<String, Long> stacks = new TreeMap<>();
+        totals.forEach((slot, total) -> {
+            String stack = slot.phase().equals(slot.callback())
+                    ? "engine;" + slot.phase()
+                    : "engine;" + slot.phase() + ";" + slot.callback();
+            stacks.merge(stack, total[0], Long::sum);
+        });
+        try (BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            for (var entry : stacks.entrySet()) {
+                long micros = Math.round(entry.getValue() / 1e3);
+                if (micros > 0) {
+                    out.write(entry.getKey() + " " + micros + "\n");
+                }
+            }
+        }
+    }
+
+    private void printTable(PrintStream out, String title, Function<EngineTimer.Slot, String> key, long totalNanos) {
+        Map<String, long[]> rows = new HashMap<>();
+        totals.forEach((slot, total) -> {
+            long[] row = rows.computeIfAbsent(key.apply(slot), k -> new long[2]);
+            row[0] += total[0];
+            row[1] += total[1];
+        });
+        List<Map.Entry<String, long[]>> sorted = rows.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<String, long[]> e) -> e.getValue()[0]).reversed())
+                .toList();
+        out.println(String.format("  %-22s %12s %7s %12s %10s", "by " + title, "time (ms)", "share", "gaps", "mean (us)"));
+        for (var entry : sorted) {
+            long nanos = entry.getValue()[0];
+            long count = entry.getValue()[1];
+            out.println(String.format("  %-22s %12.1f %6.1f%% %12d %10.2f", entry.getKey(), nanos / 1e6,
+                    totalNanos == 0 ? 0 : 100.0 * nanos / totalNanos, count, nanos / 1e3 / Math.max(count, 1)));
+        }
+    }
+}
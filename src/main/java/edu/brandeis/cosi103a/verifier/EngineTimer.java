@@ -0,0 +1,61 @@
+package edu.brandeis.cosi103a.verifier;
+
+import edu.brandeis.cosi.atg.state.GameState;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Splits one game's engine time by where the engine was headed. Each gap between
+ * callbacks (from one makeDecision or notifyEvent returning to the next one being
+ * called) is engine time, and is charged to the phase of the state and the kind of
+ * callback it ended in. Time before the first callback is charged to setup and time
+ * after the last one to finishing the game. Verifier time inside callbacks is not
+ * counted.
+ */
+final class EngineTimer {
+    static final String SETUP = "(setup)";
+    static final String FINISH = "(finish)";
+    static final String NO_PHASE = "(no phase)";
+
+    /** Phase and callback a stretch of engine time was charged to. */
+    record Slot(String phase, String callback) {
+    }
+
+    private final Map<Slot, long[]> totals = new HashMap<>(); // nanos, count
+    private long lastReturned = -1;
+
+    void gameStarted() {
+        lastReturned = System.nanoTime();
+    }
+
+    void callbackStarted(GameState.TurnPhase phase, String callback) {
+        if (lastReturned < 0) return;
+        charge(phase == null ? NO_PHASE : phase.name(), callback, System.nanoTime() - lastReturned);
+    }
+
+    void callbackFinished() {
+        lastReturned = System.nanoTime();
+    }
+
+    void gameFinished() {
+        if (lastReturned < 0) return;
+        charge(FINISH, FINISH, System.nanoTime() - lastReturned);
+        lastReturned = -1;
+    }
+
+    Map<Slot, long[]> totals() {
+        return totals;
+    }
+
+    private void charge(String phase, String callback, long nanos) {
+        if (totals.isEmpty()) {
+            // The first gap after gameStarted() is the engine setting the game up
+            phase = SETUP;
+            callback = SETUP;
+        }
+        long[] total = totals.computeIfAbsent(new Slot(phase, callback), k -> new long[2]);
+        total[0] += nanos;
+        total[1]++;
+    }
+}
@@ -0,0 +1,30 @@
+package edu.brandeis.cosi103a.verifier;
+
+import java.util.List;
+
+/**
+ * Notified by a {@link VerifierHarness} as each game finishes, on the thread that ran it.
+ */
+public interface GameListener {
+    /**
+     * @param gameIndex  the game that finished; adversarial game k uses index numGames + k
+     * @param violations violations found in that game (empty if it passed)
+     */
+    void gameFinished(int gameIndex, List<Violation> violations);
+
+    /**
+     * Called instead of {@link #gameFinished} for a replay of a corpus game.
+     *
+     * @param replayOf   the earlier game replayed, as in {@link Violation#replayOf()}
+     * @param violations violations found in the replay (empty if it passed)
+     */
+    default void replayFinished(String replayOf, List<Violation> violations) {
+    }
+
+    /**
+     * Called once the run's adversarial games have finished or been abandoned, before
+     * their {@link #gameFinished} calls.
+     */
+    default void adversarialFinished(AdversarialSuite suite) {
+    }
+}
@@ -7,6 +7,7 @@ import java.util.Map;
 
 /**
  * Complete trace of a single game execution, aggregating all observation data.
+ * The turn index is built once when the trace is assembled and shared by all checks.
  */
 public record GameTrace(
         int gameIndex,
@@ -14,7 +15,14 @@ public record GameTrace(
         List<ObservedEvent> observerEvents,
         Map<String, List<DecisionRecord>> playerDecisions,
         GameResult result,
-        Exception exception) {
+        Exception exception,
+        TurnIndex turns) {
+
+    public GameTrace(int gameIndex, int numPlayers, List<ObservedEvent> observerEvents,
+                     Map<String, List<DecisionRecord>> playerDecisions, GameResult result, Exception exception) {
+        this(gameIndex, numPlayers, observerEvents, playerDecisions, result, exception,
+                TurnIndex.build(observerEvents, playerDecisions));
+    }
 
     /**
      * Whether the game completed successfully (no exception thrown).
@@ -0,0 +1,47 @@
+package edu.brandeis.cosi103a.verifier;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
+
+/**
+ * The invariant checks run against every completed game, in report order.
+ * The display name is the {@link Violation#checkName()} used by the check.
+ */
+public enum Invariant {
+    SCORE_CALCULATION("Score calculation", InvariantChecker::checkScoreCalculation),
+    RESULTS_SORTED("Results sorted", InvariantChecker::checkResultsSorted),
+    STARTING_HANDS("Starting hands", InvariantChecker::checkStartingHands),
+    INITIAL_SUPPLY("Initial supply", InvariantChecker::checkInitialSupply),
+    GAME_TERMINATION("Game termination", InvariantChecker::checkGameTermination),
+    LEGAL_DECISIONS("Legal decisions", InvariantChecker::checkLegalDecisionsOffered),
+    PHASE_ORDERING("Phase ordering", InvariantChecker::checkPhaseOrdering),
+    END_TURN_EVENTS("EndTurnEvent", InvariantChecker::checkEndTurnEvents),
+    CARD_CONSERVATION("Card conservation", InvariantChecker::checkCardConservation),
+    SUPPLY_DEPLETION("Supply depletion", InvariantChecker::checkSupplyDepletion),
+    LIFECYCLE_EVENTS("Lifecycle events", InvariantChecker::checkLifecycleEvents);
+
+    private final String displayName;
+    private final Function<GameTrace, List<Violation>> check;
+
+    Invariant(String displayName, Function<GameTrace, List<Violation>> check) {
+        this.displayName = displayName;
+        this.check = check;
+    }
+
+    public String displayName() {
+        return displayName;
+    }
+
+    /**
+     * Looks up an invariant by its constant name in any case, with '-' for '_'
+     * (e.g. "legal-decisions").
+     */
+    public static Invariant parse(String name) {
+        return valueOf(name.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+    }
+
+    List<Violation> check(GameTrace trace) {
+        return check.apply(trace);
+    }
+}
@@ -1,19 +1,25 @@
 package edu.brandeis.cosi103a.verifier;
 
+import com.google.common.collect.ImmutableList;
 import edu.brandeis.cosi.atg.cards.Card;
 import edu.brandeis.cosi.atg.decisions.*;
 import edu.brandeis.cosi.atg.event.*;
 import edu.brandeis.cosi.atg.state.CardStacks;
 import edu.brandeis.cosi.atg.state.GameState;
 import edu.brandeis.cosi.atg.state.PlayerResult;
+import edu.brandeis.cosi103a.verifier.jfr.CheckEvent;
 
 import java.util.*;
+import java.util.stream.IntStream;
 
 /**
  * Runs invariant checks against a GameTrace and returns violations found.
  */
 public class InvariantChecker {
 
+    /** Decisions per player above which a trace's turns are checked in parallel. */
+    private static final int PARALLEL_DECISION_THRESHOLD = 20_000;
+
     private InvariantChecker() {
     }
 
@@ -21,21 +27,35 @@ public class InvariantChecker {
      * Run all invariant checks against the given trace.
      */
     public static List<Violation> check(GameTrace trace) {
+        return check(trace, Map.of());
+    }
+
+    /**
+     * Run all invariant checks against the given trace, substituting results that
+     * were already computed elsewhere (e.g. streamed by a {@link LeanRecorder}).
+     * Violations are returned in {@link Invariant} order either way.
+     */
+    public static List<Violation> check(GameTrace trace, Map<Invariant, List<Violation>> precomputed) {
         List<Violation> violations = new ArrayList<>();
         if (!trace.completedSuccessfully()) {
             return violations; // nothing to check if the game didn't complete
         }
-        violations.addAll(checkScoreCalculation(trace));
-        violations.addAll(checkResultsSorted(trace));
-        violations.addAll(checkStartingHands(trace));
-        violations.addAll(checkInitialSupply(trace));
-        violations.addAll(checkGameTermination(trace));
-        violations.addAll(checkLegalDecisionsOffered(trace));
-        violations.addAll(checkPhaseOrdering(trace));
-        violations.addAll(checkEndTurnEvents(trace));
-        violations.addAll(checkCardConservation(trace));
-        violations.addAll(checkSupplyDepletion(trace));
-        violations.addAll(checkLifecycleEvents(trace));
+        for (Invariant invariant : Invariant.values()) {
+            List<Violation> found = precomputed.get(invariant);
+            if (found == null) {
+                CheckEvent event = new CheckEvent();
+                event.begin();
+                found = invariant.check(trace);
+                event.end();
+                if (event.shouldCommit()) {
+                    event.invariant = invariant.displayName();
+                    event.gameIndex = trace.gameIndex();
+                    event.violations = found.size();
+                    event.commit();
+                }
+            }
+            violations.addAll(found);
+        }
         return violations;
     }
 
@@ -87,28 +107,37 @@ public class InvariantChecker {
     static List<Violation> checkStartingHands(GameTrace trace) {
         List<Violation> violations = new ArrayList<>();
         for (var entry : trace.playerDecisions().entrySet()) {
-            String player = entry.getKey();
             List<DecisionRecord> records = entry.getValue();
             if (records.isEmpty()) continue;
             DecisionRecord first = records.get(0);
-            var hand = first.state().currentPlayerHand();
-            for (Card card : hand.unplayedCards()) {
-                if (card.type() != Card.Type.BITCOIN && card.type() != Card.Type.METHOD) {
-                    violations.add(new Violation("Starting hands",
-                            "Player \"" + player + "\" has " + card.type().description()
-                                    + " in starting hand, expected only Bitcoin/Method",
-                            trace.gameIndex(), 0, player));
-                    break;
-                }
+            violations.addAll(checkStartingHand(first.state(), entry.getKey(),
+                    trace.gameIndex(), trace.turns().turnOfDecision(first)));
+        }
+        return violations;
+    }
+
+    /**
+     * Check 3 for one player, given the state at their first decision.
+     */
+    static List<Violation> checkStartingHand(GameState state, String player, int gameIndex, int turn) {
+        List<Violation> violations = new ArrayList<>();
+        var hand = state.currentPlayerHand();
+        for (Card card : hand.unplayedCards()) {
+            if (card.type() != Card.Type.BITCOIN && card.type() != Card.Type.METHOD) {
+                violations.add(new Violation("Starting hands",
+                        "Player \"" + player + "\" has " + card.type().description()
+                                + " in starting hand, expected only Bitcoin/Method",
+                        gameIndex, turn, player));
+                break;
             }
-            for (Card card : hand.playedCards()) {
-                if (card.type() != Card.Type.BITCOIN && card.type() != Card.Type.METHOD) {
-                    violations.add(new Violation("Starting hands",
-                            "Player \"" + player + "\" has " + card.type().description()
-                                    + " in starting played cards, expected only Bitcoin/Method",
-                            trace.gameIndex(), 0, player));
-                    break;
-                }
+        }
+        for (Card card : hand.playedCards()) {
+            if (card.type() != Card.Type.BITCOIN && card.type() != Card.Type.METHOD) {
+                violations.add(new Violation("Starting hands",
+                        "Player \"" + player + "\" has " + card.type().description()
+                                + " in starting played cards, expected only Bitcoin/Method",
+                        gameIndex, turn, player));
+                break;
             }
         }
         return violations;
@@ -204,46 +233,75 @@ public class InvariantChecker {
      */
     static List<Violation> checkLegalDecisionsOffered(GameTrace trace) {
         List<Violation> violations = new ArrayList<>();
-        int turnEstimate = 0;
+        TurnIndex turns = trace.turns();
         for (var entry : trace.playerDecisions().entrySet()) {
             String player = entry.getKey();
-            for (DecisionRecord record : entry.getValue()) {
-                GameState state = record.state();
-                for (Decision option : record.options()) {
-                    if (option instanceof BuyDecision bd) {
-                        // Buy decisions: card must be affordable and available
-                        if (bd.cardType().cost() > state.spendableMoney()) {
-                            violations.add(new Violation("Legal decisions",
-                                    "BuyDecision(" + bd.cardType().description() + ", cost="
-                                            + bd.cardType().cost() + ") offered but spendableMoney="
-                                            + state.spendableMoney(),
-                                    trace.gameIndex(), turnEstimate, player,
-                                    "State: actions=" + state.availableActions()
-                                            + ", money=" + state.spendableMoney()
-                                            + ", buys=" + state.availableBuys()));
-                        }
-                        if (state.buyableCards().getNumAvailable(bd.cardType()) <= 0) {
-                            violations.add(new Violation("Legal decisions",
-                                    "BuyDecision(" + bd.cardType().description()
-                                            + ") offered but supply is empty",
-                                    trace.gameIndex(), turnEstimate, player));
-                        }
-                    }
-                    if (option instanceof PlayCardDecision pd && state.phase() == GameState.TurnPhase.ACTION) {
-                        if (pd.card().category() == Card.Type.Category.ACTION
-                                && state.availableActions() <= 0) {
-                            violations.add(new Violation("Legal decisions",
-                                    "PlayCardDecision(" + pd.card().type().description()
-                                            + ") offered in ACTION phase but availableActions=0",
-                                    trace.gameIndex(), turnEstimate, player));
-                        }
-                    }
-                }
+            IntStream turnRange = IntStream.range(0, turns.turnCount());
+            if (entry.getValue().size() >= PARALLEL_DECISION_THRESHOLD) {
+                turnRange = turnRange.parallel(); // turns are independent; split across the fork/join pool
             }
+            violations.addAll(turnRange
+                    .mapToObj(turn -> checkLegalDecisions(turns.decisionsOf(player, turn), player,
+                            trace.gameIndex(), turn))
+                    .flatMap(List::stream)
+                    .toList());
         }
         return violations;
     }
 
+    private static List<Violation> checkLegalDecisions(List<DecisionRecord> records, String player,
+                                                       int gameIndex, int turn) {
+        List<Violation> violations = new ArrayList<>();
+        for (DecisionRecord record : records) {
+            violations.addAll(checkLegalDecision(record, player, gameIndex, turn));
+        }
+        return violations;
+    }
+
+    /**
+     * Check 6 for a single decision, so it can also run as decisions are recorded.
+     */
+    static List<Violation> checkLegalDecision(DecisionRecord record, String player, int gameIndex, int turn) {
+        List<Violation> violations = null; // allocated on the first violation; most decisions have none
+        GameState state = record.state();
+        ImmutableList<Decision> options = record.options();
+        for (int i = 0; i < options.size(); i++) {
+            Decision option = options.get(i);
+            if (option instanceof BuyDecision bd) {
+                // Buy decisions: card must be affordable and available
+                if (bd.cardType().cost() > state.spendableMoney()) {
+                    violations = violations != null ? violations : new ArrayList<>();
+                    violations.add(new Violation("Legal decisions",
+                            "BuyDecision(" + bd.cardType().description() + ", cost="
+                                    + bd.cardType().cost() + ") offered but spendableMoney="
+                                    + state.spendableMoney(),
+                            gameIndex, turn, player,
+                            "State: actions=" + state.availableActions()
+                                    + ", money=" + state.spendableMoney()
+                                    + ", buys=" + state.availableBuys()));
+                }
+                if (state.buyableCards().getNumAvailable(bd.cardType()) <= 0) {
+                    violations = violations != null ? violations : new ArrayList<>();
+                    violations.add(new Violation("Legal decisions",
+                            "BuyDecision(" + bd.cardType().description()
+                                    + ") offered but supply is empty",
+                            gameIndex, turn, player));
+                }
+            }
+            if (option instanceof PlayCardDecision pd && state.phase() == GameState.TurnPhase.ACTION) {
+                if (pd.card().category() == Card.Type.Category.ACTION
+                        && state.availableActions() <= 0) {
+                    violations = violations != null ? violations : new ArrayList<>();
+                    violations.add(new Violation("Legal decisions",
+                            "PlayCardDecision(" + pd.card().type().description()
+                                    + ") offered in ACTION phase but availableActions=0",
+                            gameIndex, turn, player));
+                }
+            }
+        }
+        return violations != null ? violations : List.of();
+    }
+
     /**
      * Check 7: Phase ordering — within a turn, phases should follow
      * ACTION → MONEY → BUY → CLEANUP. REACTION/GAIN/DISCARD are sub-phases.
@@ -251,32 +309,11 @@ public class InvariantChecker {
     static List<Violation> checkPhaseOrdering(GameTrace trace) {
         List<Violation> violations = new ArrayList<>();
         for (var entry : trace.playerDecisions().entrySet()) {
-            String player = entry.getKey();
-            List<DecisionRecord> records = entry.getValue();
-
-            int mainPhaseOrdinal = -1;
-            int turn = 0;
-
-            for (DecisionRecord record : records) {
-                GameState.TurnPhase phase = record.state().phase();
-                int ordinal = mainPhaseOrdinal(phase);
-                if (ordinal < 0) continue; // sub-phase, skip
-
-                // Detect new turn: if ordinal goes backwards, it's a new turn
-                if (ordinal < mainPhaseOrdinal) {
-                    // This should be ACTION (ordinal 0) starting a new turn
-                    if (ordinal == 0) {
-                        turn++;
-                        mainPhaseOrdinal = ordinal;
-                    } else {
-                        violations.add(new Violation("Phase ordering",
-                                phase + " phase after " + mainPhaseNameFromOrdinal(mainPhaseOrdinal) + " phase",
-                                trace.gameIndex(), turn, player));
-                    }
-                } else {
-                    mainPhaseOrdinal = ordinal;
-                }
+            PhaseTracker tracker = new PhaseTracker(entry.getKey(), trace.gameIndex());
+            for (DecisionRecord record : entry.getValue()) {
+                tracker.accept(record.state().phase(), trace.turns().turnOfDecision(record));
             }
+            violations.addAll(tracker.violations());
         }
         return violations;
     }
@@ -360,36 +397,18 @@ public class InvariantChecker {
     }
 
     /**
-     * Check 10: Supply depletion — track supply changes across observer events.
-     * After a GainCardEvent for type X, the next state's supply(X) should have decreased.
+     * Check 10: Supply depletion — replay the event stream once against a ledger of
+     * supply counts seeded from GameStartEvent. Every GainCardEvent must take exactly
+     * one card from a non-empty pile, every observed state must agree with the ledger,
+     * and GameEndEvent.finalSupply() must equal the ledger at the end.
      */
     static List<Violation> checkSupplyDepletion(GameTrace trace) {
-        List<Violation> violations = new ArrayList<>();
+        SupplyLedger ledger = new SupplyLedger(trace.gameIndex(), trace.turns()::turnOfEvent);
         List<ObservedEvent> events = trace.observerEvents();
-
-        for (int i = 0; i < events.size() - 1; i++) {
-            ObservedEvent current = events.get(i);
-            if (current.event() instanceof GainCardEvent gce) {
-                // Find the next event that has a non-null state with buyableCards
-                for (int j = i + 1; j < events.size(); j++) {
-                    ObservedEvent next = events.get(j);
-                    if (next.state() != null && next.state().buyableCards() != null) {
-                        if (current.state() != null && current.state().buyableCards() != null) {
-                            int before = current.state().buyableCards().getNumAvailable(gce.cardType());
-                            int after = next.state().buyableCards().getNumAvailable(gce.cardType());
-                            if (after > before) {
-                                violations.add(new Violation("Supply depletion",
-                                        gce.cardType().description() + " supply increased from "
-                                                + before + " to " + after + " after GainCardEvent",
-                                        trace.gameIndex()));
-                            }
-                        }
-                        break;
-                    }
-                }
-            }
+        for (int i = 0; i < events.size(); i++) {
+            ledger.accept(events.get(i), i);
         }
-        return violations;
+        return ledger.violations();
     }
 
     /**
@@ -415,26 +434,4 @@ public class InvariantChecker {
         }
         return violations;
     }
-
-    // --- helpers ---
-
-    private static int mainPhaseOrdinal(GameState.TurnPhase phase) {
-        return switch (phase) {
-            case ACTION -> 0;
-            case MONEY -> 1;
-            case BUY -> 2;
-            case CLEANUP -> 3;
-            default -> -1; // sub-phases
-        };
-    }
-
-    private static String mainPhaseNameFromOrdinal(int ordinal) {
-        return switch (ordinal) {
-            case 0 -> "ACTION";
-            case 1 -> "MONEY";
-            case 2 -> "BUY";
-            case 3 -> "CLEANUP";
-            default -> "UNKNOWN";
-        };
-    }
 }
@@ -0,0 +1,76 @@
+package edu.brandeis.cosi103a.verifier;
+
+import edu.brandeis.cosi.atg.cards.Card;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Chooses each game's kingdom from a covering design instead of at random, so a
+ * short run already exercises every pair of action cards together and every
+ * action card in games of every player count.
+ *
+ * <p>The action types are split into groups the size of the cards a kingdom leaves
+ * out (3 groups of 5 for 15 types and 10-card kingdoms), and kingdom k is every
+ * type outside group k. Any two types share at least one of those kingdoms. Game i
+ * uses kingdom i mod 3 while the harness uses player setup i mod 5, so each cycle of
+ * 15 games plays every setup (and so each of 2, 3 and 4 players) with every kingdom,
+ * and all pairs are covered from the cycle's first 3 games. The grouping is reshuffled
+ * per cycle from the run seed, so longer runs still see varied kingdoms, and any
+ * game's kingdom depends only on the seed and its index.
+ */
+public final class KingdomPlan {
+    public static final int KINGDOM_SIZE = 10;
+
+    private final long runSeed;
+    private final int setups;
+    private final List<Card.Type> actions;
+    private final int groupSize;
+
+    /**
+     * @param setups number of player setups the harness cycles through by game index;
+     *               should be coprime with {@link #kingdomCount()}
+     */
+    public KingdomPlan(long runSeed, int setups) {
+        this.runSeed = runSeed;
+        this.setups = setups;
+        this.actions = Arrays.stream(Card.Type.values())
+                .filter(t -> t.category() == Card.Type.Category.ACTION)
+                .toList();
+        this.groupSize = actions.size() - KINGDOM_SIZE;
+        if (groupSize > 0 && actions.size() % groupSize != 0) {
+            throw new IllegalStateException(actions.size() + " action types cannot be split into groups of "
+                    + groupSize + " for " + KINGDOM_SIZE + "-card kingdoms");
+        }
+    }
+
+    /**
+     * Number of kingdoms sharing one grouping of the action types.
+     */
+    public int kingdomCount() {
+        return groupSize > 0 ? actions.size() / groupSize : 1;
+    }
+
+    /**
+     * The action types in play for the given game.
+     */
+    public List<Card.Type> kingdomFor(int gameIndex) {
+        if (groupSize <= 0) {
+            return actions;
+        }
+        int cycle = gameIndex / (kingdomCount() * setups);
+        int excludedGroup = gameIndex % kingdomCount();
+        List<Card.Type> order = new ArrayList<>(actions);
+        Collections.shuffle(order, new Random(VerifierHarness.gameSeed(runSeed, ~cycle)));
+        List<Card.Type> kingdom = new ArrayList<>(KINGDOM_SIZE);
+        for (int i = 0; i < order.size(); i++) {
+            if (i / groupSize != excludedGroup) {
+                kingdom.add(order.get(i));
+            }
+        }
+        return kingdom;
+    }
+}
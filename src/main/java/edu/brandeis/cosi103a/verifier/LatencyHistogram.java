@@ -0,0 +1,55 @@
+package edu.brandeis.cosi103a.verifier;
+
+/**
+ * Fixed-size histogram of durations in nanoseconds with log-linear buckets: each
+ * power of two is split into 16 sub-buckets, so a reported percentile is within
+ * about 6% of the true value at any scale. Recording is a few arithmetic operations
+ * and never allocates.
+ *
+ * <p>Not thread-safe; record from one thread at a time.
+ */
+public final class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    private final long[] counts = new long[(64 - SUB_BUCKET_BITS + 1) * SUB_BUCKETS];
+    private long total;
+
+    public void record(long nanos) {
+        counts[bucketOf(Math.max(nanos, 0))]++;
+        total++;
+    }
+
+    public long count() {
+        return total;
+    }
+
+    /**
+     * The value at the given percentile (0-100), as the upper bound of its bucket,
+     * or 0 if nothing was recorded.
+     */
+    public long percentile(double percentile) {
+        if (total == 0) return 0;
+        long rank = Math.max(1, (long) Math.ceil(total * percentile / 100.0));
+        long seen = 0;
+        for (int b = 0; b < counts.length; b++) {
+            seen += counts[b];
+            if (seen >= rank) return upperBound(b);
+        }
+        return upperBound(counts.length - 1);
+    }
+
+    private static int bucketOf(long value) {
+        if (value < SUB_BUCKETS) return (int) value;
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS; // top 5 bits remain
+        return (shift + 1) * SUB_BUCKETS + (int) ((value >>> shift) - SUB_BUCKETS);
+    }
+
+    private static long upperBound(int bucket) {
+        int magnitude = bucket / SUB_BUCKETS;
+        long sub = bucket % SUB_BUCKETS;
+        if (magnitude == 0) return sub;
+        if (magnitude - 1 >= 64 - SUB_BUCKET_BITS - 1) return Long.MAX_VALUE;
+        return ((SUB_BUCKETS + sub + 1) << (magnitude - 1)) - 1;
+    }
+}
@@ -0,0 +1,130 @@
+package edu.brandeis.cosi103a.verifier;
+
+import edu.brandeis.cosi.atg.event.EndTurnEvent;
+import edu.brandeis.cosi.atg.event.Event;
+import edu.brandeis.cosi.atg.event.GameEndEvent;
+import edu.brandeis.cosi.atg.event.GameStartEvent;
+import edu.brandeis.cosi.atg.event.TrashCardEvent;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An ObserverRecorder for high-volume runs that keeps only what the enabled checks
+ * read. The checks that need GameState snapshots (legal decisions, starting hands,
+ * phase ordering, supply depletion) consume each event or decision as it is stored
+ * and keep just their own counters, so no snapshot or option list outlives its
+ * callback. The stored trace holds only the stateless lifecycle, EndTurn and, when
+ * card conservation is enabled, TrashCard events, plus an empty decision list per
+ * player; the remaining checks run on that trace after play as usual.
+ */
+public class LeanRecorder extends ObserverRecorder {
+    private final int gameIndex;
+    private final Set<Invariant> enabled;
+    private final List<Violation> legalDecisionViolations = new ArrayList<>();
+    private final List<Violation> startingHandViolations = new ArrayList<>();
+    private final Map<String, PhaseTracker> phases = new LinkedHashMap<>();
+    private final Set<String> seenFirstDecision = new HashSet<>();
+    private final SupplyLedger supply;
+    private RuntimeException failure;
+    private int position; // events seen so far, stored or not
+    private int turn; // EndTurnEvents seen so far, matching TurnIndex numbering
+
+    /**
+     * @param enabled checks the run will report; only their data is kept
+     */
+    public LeanRecorder(int gameIndex, Set<Invariant> enabled) {
+        this.gameIndex = gameIndex;
+        this.enabled = EnumSet.copyOf(enabled);
+        this.supply = enabled.contains(Invariant.SUPPLY_DEPLETION)
+                ? new SupplyLedger(gameIndex, p -> turn)
+                : null;
+    }
+
+    @Override
+    public Map<Invariant, List<Violation>> finish() {
+        super.finish();
+        if (failure != null) {
+            throw failure;
+        }
+        Map<Invariant, List<Violation>> done = new EnumMap<>(Invariant.class);
+        if (enabled.contains(Invariant.LEGAL_DECISIONS)) {
+            // Checked in play order; report per player like the after-play check does (stable sort)
+            List<String> players = new ArrayList<>(phases.keySet());
+            legalDecisionViolations.sort(Comparator.comparingInt(v -> players.indexOf(v.playerName())));
+            done.put(Invariant.LEGAL_DECISIONS, legalDecisionViolations);
+        }
+        if (enabled.contains(Invariant.STARTING_HANDS)) {
+            done.put(Invariant.STARTING_HANDS, startingHandViolations);
+        }
+        if (enabled.contains(Invariant.PHASE_ORDERING)) {
+            List<Violation> found = new ArrayList<>();
+            phases.values().forEach(tracker -> found.addAll(tracker.violations()));
+            done.put(Invariant.PHASE_ORDERING, found);
+        }
+        if (supply != null) {
+            done.put(Invariant.SUPPLY_DEPLETION, supply.violations());
+        }
+        return done;
+    }
+
+    @Override
+    void addPlayer(String playerName) {
+        super.addPlayer(playerName);
+        phases.putIfAbsent(playerName, new PhaseTracker(playerName, gameIndex));
+    }
+
+    @Override
+    void storeEvent(ObservedEvent event) {
+        try {
+            if (supply != null) {
+                supply.accept(event, position);
+            }
+        } catch (RuntimeException e) {
+            fail(e);
+        }
+        position++;
+        Event observed = event.event();
+        if (observed instanceof GameStartEvent || observed instanceof GameEndEvent
+                || observed instanceof EndTurnEvent
+                || (observed instanceof TrashCardEvent && enabled.contains(Invariant.CARD_CONSERVATION))) {
+            super.storeEvent(new ObservedEvent(null, observed));
+        }
+        if (observed instanceof EndTurnEvent) {
+            turn++;
+        }
+    }
+
+    @Override
+    void storeDecision(String playerName, DecisionRecord record) {
+        try {
+            if (enabled.contains(Invariant.LEGAL_DECISIONS)) {
+                legalDecisionViolations.addAll(
+                        InvariantChecker.checkLegalDecision(record, playerName, gameIndex, turn));
+            }
+            if (enabled.contains(Invariant.STARTING_HANDS) && seenFirstDecision.add(playerName)) {
+                startingHandViolations.addAll(
+                        InvariantChecker.checkStartingHand(record.state(), playerName, gameIndex, turn));
+            }
+            if (enabled.contains(Invariant.PHASE_ORDERING)) {
+                phases.computeIfAbsent(playerName, p -> new PhaseTracker(p, gameIndex))
+                        .accept(record.state().phase(), turn);
+            }
+        } catch (RuntimeException e) {
+            fail(e);
+        }
+    }
+
+    private void fail(RuntimeException e) {
+        if (failure == null) {
+            failure = e; // surfaced by finish(), never into the engine's callback
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package edu.brandeis.cosi103a.verifier;
+
+import edu.brandeis.cosi.atg.cards.Card;
+import edu.brandeis.cosi.atg.engine.Engine;
+import edu.brandeis.cosi.atg.player.Player;
+import edu.brandeis.cosi.atg.state.GameResult;
+
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Plays one game of a run on its own thread and hands out its steps as they happen.
+ * The game has the same players, strategy seeds and kingdom as in a VerifierHarness
+ * run with the same seed. Steps pass through a bounded queue, so the game thread
+ * runs at most a block ahead of the reader and nothing is kept once read. Closing
+ * the source early stops the game at its next callback.
+ */
+final class LiveTrace implements StepSource {
+    private static final String END = new String("end"); // sentinel, compared by identity
+
+    private final BlockingQueue<String> queue = new ArrayBlockingQueue<>(BLOCK_STEPS);
+    private volatile boolean closed;
+    private boolean ended;
+    private long hash;
+
+    LiveTrace(EngineLoader loader, long seed, int gameIndex, TerminationGuard.Limits limits) {
+        Thread.ofPlatform()
+                .name("live-trace-" + gameIndex)
+                .daemon()
+                .start(() -> play(loader, seed, gameIndex, limits));
+    }
+
+    @Override
+    public Block next() throws InterruptedIOException {
+        if (ended) return null;
+        List<String> steps = new ArrayList<>(BLOCK_STEPS);
+        while (steps.size() < BLOCK_STEPS) {
+            String step;
+            try {
+                step = queue.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("interrupted while waiting for the game");
+            }
+            if (step == END) {
+                ended = true;
+                break;
+            }
+            steps.add(step);
+            hash = TraceSteps.hash(hash, step);
+        }
+        return steps.isEmpty() ? null : new Block(steps, hash);
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        queue.clear(); // unblocks the game thread, which then stops
+    }
+
+    private void play(EngineLoader loader, long seed, int gameIndex, TerminationGuard.Limits limits) {
+        Random gameRandom = new Random(VerifierHarness.gameSeed(seed, gameIndex));
+        List<VerifierPlayer> players = VerifierHarness.createPlayers(gameIndex % VerifierHarness.SETUPS, gameRandom);
+        List<Card.Type> kingdom = new KingdomPlan(seed, VerifierHarness.SETUPS).kingdomFor(gameIndex);
+        ObserverRecorder recorder = new StepRecorder();
+        TerminationGuard guard = new TerminationGuard(limits);
+        for (VerifierPlayer vp : players) {
+            vp.recordTo(recorder);
+            vp.setGuard(guard);
+        }
+        try {
+            Engine engine = loader.create(new ArrayList<Player>(players), kingdom);
+            engine.setObserver(recorder);
+            GameResult result = engine.play();
+            emit(TraceSteps.result(result));
+        } catch (Exception e) {
+            emit(TraceSteps.error(e)); // dropped if we were closed
+        } finally {
+            emit(END);
+        }
+    }
+
+    /**
+     * Queues a step; returns false, dropping it, once the source is closed.
+     */
+    private boolean emit(String step) {
+        try {
+            while (!closed) {
+                if (queue.offer(step, 100, TimeUnit.MILLISECONDS)) return true;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return false;
+    }
+
+    /**
+     * Renders each event and decision as a step instead of storing it.
+     */
+    private final class StepRecorder extends ObserverRecorder {
+        @Override
+        void storeEvent(ObservedEvent event) {
+            if (!emit(TraceSteps.event(event))) throw new CancellationException("trace closed");
+        }
+
+        @Override
+        void storeDecision(String playerName, DecisionRecord record) {
+            if (!emit(TraceSteps.decision(playerName, record))) throw new CancellationException("trace closed");
+        }
+    }
+}
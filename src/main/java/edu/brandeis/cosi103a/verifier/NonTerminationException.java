@@ -0,0 +1,12 @@
+package edu.brandeis.cosi103a.verifier;
+
+/**
+ * Thrown from a VerifierPlayer's makeDecision to stop a game that exceeded its
+ * {@link TerminationGuard} budget. Engines may wrap or swallow it; the harness
+ * reads the guard rather than relying on this exception reaching it.
+ */
+public class NonTerminationException extends RuntimeException {
+    public NonTerminationException(String message) {
+        super(message);
+    }
+}
@@ -3,23 +3,95 @@ package edu.brandeis.cosi103a.verifier;
 import edu.brandeis.cosi.atg.event.Event;
 import edu.brandeis.cosi.atg.event.GameObserver;
 import edu.brandeis.cosi.atg.state.GameState;
+import edu.brandeis.cosi103a.verifier.jfr.ObserverEvent;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
- * A GameObserver that records all events for later analysis.
+ * A GameObserver that records all events for later analysis. VerifierPlayers
+ * attached via {@link VerifierPlayer#recordTo} record their decisions here too.
+ * Stored snapshots are interned, so equal GameStates share one instance.
  */
 public class ObserverRecorder implements GameObserver {
     private final List<ObservedEvent> events = new ArrayList<>();
+    private final Map<String, List<DecisionRecord>> decisions = new LinkedHashMap<>();
+    private final StateInterner interner = new StateInterner();
+    private EngineTimer timer;
+
+    /**
+     * Reports each event callback to the given game's engine timer.
+     */
+    void timeCallbacksWith(EngineTimer timer) {
+        this.timer = timer;
+    }
 
     @Override
     public void notifyEvent(GameState state, Event event) {
-        events.add(new ObservedEvent(state, event));
+        if (timer != null) {
+            timer.callbackStarted(state == null ? null : state.phase(),
+                    event == null ? "null" : event.getClass().getSimpleName());
+        }
+        ObserverEvent jfrEvent = new ObserverEvent();
+        jfrEvent.begin();
+        storeEvent(new ObservedEvent(state, event));
+        jfrEvent.end();
+        if (jfrEvent.shouldCommit()) {
+            jfrEvent.eventType = event == null ? "null" : event.getClass().getSimpleName();
+            jfrEvent.commit();
+        }
+        if (timer != null) {
+            timer.callbackFinished();
+        }
+    }
+
+    public void recordDecision(String playerName, DecisionRecord record) {
+        storeDecision(playerName, record);
+    }
+
+    /**
+     * Called once play has stopped, before the recorded data is read. Returns the
+     * checks a subclass already ran while the game played, such as
+     * {@link LeanRecorder}'s; a plain recorder has none.
+     */
+    public Map<Invariant, List<Violation>> finish() {
+        return Map.of();
     }
 
     public List<ObservedEvent> getEvents() {
         return Collections.unmodifiableList(events);
     }
+
+    /**
+     * Recorded decisions per player, in the order players were attached.
+     */
+    public Map<String, List<DecisionRecord>> getDecisions() {
+        Map<String, List<DecisionRecord>> view = new LinkedHashMap<>();
+        for (var entry : decisions.entrySet()) {
+            view.put(entry.getKey(), Collections.unmodifiableList(entry.getValue()));
+        }
+        return view;
+    }
+
+    void addPlayer(String playerName) {
+        decisions.putIfAbsent(playerName, new ArrayList<>());
+    }
+
+    void storeEvent(ObservedEvent event) {
+        GameState shared = interner.intern(event.state());
+        if (shared != event.state()) {
+            event = new ObservedEvent(shared, event.event());
+        }
+        events.add(event);
+    }
+
+    void storeDecision(String playerName, DecisionRecord record) {
+        GameState shared = interner.intern(record.state());
+        record = new DecisionRecord(shared, record.options(), record.chosen(), record.triggeringEvent(),
+                events.size());
+        decisions.computeIfAbsent(playerName, k -> new ArrayList<>()).add(record);
+    }
 }
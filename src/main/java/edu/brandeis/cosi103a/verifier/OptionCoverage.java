@@ -0,0 +1,56 @@
+package edu.brandeis.cosi103a.verifier;
+
+import edu.brandeis.cosi.atg.cards.Card;
+import edu.brandeis.cosi.atg.decisions.BuyDecision;
+import edu.brandeis.cosi.atg.decisions.Decision;
+import edu.brandeis.cosi.atg.decisions.EndPhaseDecision;
+import edu.brandeis.cosi.atg.decisions.GainCardDecision;
+import edu.brandeis.cosi.atg.decisions.PlayCardDecision;
+import edu.brandeis.cosi.atg.state.GameState;
+
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * The kinds of choices the engine has offered so far in a run: one bit per
+ * combination of phase, decision kind (buy, gain, play, end phase, other) and card
+ * type. A game's coverage is how many combinations it offered first.
+ */
+final class OptionCoverage {
+    private static final int TYPES = Card.Type.values().length + 1; // plus "no card"
+    private static final int KINDS = 5;
+
+    private final BitSet seen = new BitSet();
+
+    /**
+     * Marks everything offered in the trace and returns how many combinations were new.
+     */
+    int add(GameTrace trace) {
+        int before = seen.cardinality();
+        for (List<DecisionRecord> records : trace.playerDecisions().values()) {
+            for (DecisionRecord record : records) {
+                GameState.TurnPhase phase = record.state().phase();
+                int phaseSlot = phase == null ? GameState.TurnPhase.values().length : phase.ordinal();
+                for (Decision option : record.options()) {
+                    seen.set((phaseSlot * KINDS + kind(option)) * TYPES + cardSlot(option));
+                }
+            }
+        }
+        return seen.cardinality() - before;
+    }
+
+    private static int kind(Decision option) {
+        if (option instanceof BuyDecision) return 0;
+        if (option instanceof GainCardDecision) return 1;
+        if (option instanceof PlayCardDecision) return 2;
+        if (option instanceof EndPhaseDecision) return 3;
+        return 4;
+    }
+
+    private static int cardSlot(Decision option) {
+        if (option instanceof BuyDecision bd) return bd.cardType().ordinal();
+        if (option instanceof GainCardDecision gd) return gd.cardType().ordinal();
+        if (option instanceof PlayCardDecision pd) return pd.card().type().ordinal();
+        return TYPES - 1;
+    }
+}
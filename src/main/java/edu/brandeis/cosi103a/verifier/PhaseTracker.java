@@ -0,0 +1,72 @@
+package edu.brandeis.cosi103a.verifier;
+
+import edu.brandeis.cosi.atg.state.GameState;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Follows one player's main phases through their decisions, in order, and reports
+ * a phase that goes backwards within a turn. Used by the phase ordering check,
+ * both after play and while recording.
+ */
+final class PhaseTracker {
+    private final String player;
+    private final int gameIndex;
+    private final List<Violation> violations = new ArrayList<>();
+    private int mainPhaseOrdinal = -1;
+    private int turn = -1;
+
+    PhaseTracker(String player, int gameIndex) {
+        this.player = player;
+        this.gameIndex = gameIndex;
+    }
+
+    void accept(GameState.TurnPhase phase, int decisionTurn) {
+        int ordinal = mainPhaseOrdinal(phase);
+        if (ordinal < 0) return; // sub-phase, skip
+
+        if (decisionTurn != turn) {
+            // An EndTurnEvent separates this decision from the previous one
+            turn = decisionTurn;
+            mainPhaseOrdinal = ordinal;
+        } else if (ordinal < mainPhaseOrdinal) {
+            // ACTION after a later phase without an EndTurnEvent is taken as a new turn and
+            // not reported: no check catches a turn that ends without one, since check 8
+            // only requires the game to have some EndTurnEvent
+            if (ordinal == 0) {
+                mainPhaseOrdinal = ordinal;
+            } else {
+                violations.add(new Violation("Phase ordering",
+                        phase + " phase after " + mainPhaseName(mainPhaseOrdinal) + " phase",
+                        gameIndex, turn, player));
+            }
+        } else {
+            mainPhaseOrdinal = ordinal;
+        }
+    }
+
+    List<Violation> violations() {
+        return violations;
+    }
+
+    private static int mainPhaseOrdinal(GameState.TurnPhase phase) {
+        return switch (phase) {
+            case ACTION -> 0;
+            case MONEY -> 1;
+            case BUY -> 2;
+            case CLEANUP -> 3;
+            default -> -1; // sub-phases
+        };
+    }
+
+    private static String mainPhaseName(int ordinal) {
+        return switch (ordinal) {
+            case 0 -> "ACTION";
+            case 1 -> "MONEY";
+            case 2 -> "BUY";
+            case 3 -> "CLEANUP";
+            default -> "UNKNOWN";
+        };
+    }
+}
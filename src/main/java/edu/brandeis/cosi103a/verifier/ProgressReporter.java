@@ -0,0 +1,116 @@
+package edu.brandeis.cosi103a.verifier;
+
+import java.io.PrintStream;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Prints run progress on a timer: games completed, games and decisions per second
+ * over the last interval, estimated time remaining and violations so far by check.
+ * Games may finish on any thread; the engine thread only bumps a {@link LongAdder}
+ * per decision, and all formatting happens on the reporter's own thread.
+ */
+public class ProgressReporter implements GameListener {
+    private final int totalGames;
+    private final PrintStream out;
+    private final Duration interval;
+    private final LongAdder gamesCompleted = new LongAdder();
+    private final LongAdder decisions = new LongAdder();
+    private final Map<String, LongAdder> violationsByCheck = new ConcurrentHashMap<>();
+    private ScheduledExecutorService timer;
+    private long startNanos;
+    private long lastNanos;
+    private long lastGames;
+    private long lastDecisions;
+
+    public ProgressReporter(int totalGames, PrintStream out, Duration interval) {
+        this.totalGames = totalGames;
+        this.out = out;
+        this.interval = interval;
+    }
+
+    /**
+     * Counter for VerifierPlayers to bump on every decision.
+     */
+    public LongAdder decisionCounter() {
+        return decisions;
+    }
+
+    @Override
+    public void gameFinished(int gameIndex, List<Violation> violations) {
+        for (Violation v : violations) {
+            violationsByCheck.computeIfAbsent(v.checkName(), k -> new LongAdder()).increment();
+        }
+        gamesCompleted.increment();
+    }
+
+    @Override
+    public void replayFinished(String replayOf, List<Violation> violations) {
+        gameFinished(-1, violations);
+    }
+
+    public void start() {
+        startNanos = lastNanos = System.nanoTime();
+        timer = Executors.newSingleThreadScheduledExecutor(runnable ->
+                Thread.ofPlatform().name("progress-reporter").daemon().unstarted(runnable));
+        timer.scheduleAtFixedRate(this::report, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops the timer and prints a final line.
+     */
+    public void stop() {
+        timer.shutdownNow();
+        try {
+            timer.awaitTermination(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        report();
+    }
+
+    private synchronized void report() {
+        long now = System.nanoTime();
+        long games = gamesCompleted.sum();
+        long decided = decisions.sum();
+        double seconds = Math.max((now - lastNanos) / 1e9, 1e-9);
+        double gamesPerSecond = (games - lastGames) / seconds;
+        double decisionsPerSecond = (decided - lastDecisions) / seconds;
+        lastNanos = now;
+        lastGames = games;
+        lastDecisions = decided;
+
+        var sb = new StringBuilder("[progress] ");
+        sb.append(games).append('/').append(totalGames).append(" games");
+        sb.append(String.format(" (%.1f%%)", 100.0 * games / Math.max(totalGames, 1)));
+        sb.append(String.format("  %.1f games/s  %.0f decisions/s", gamesPerSecond, decisionsPerSecond));
+        if (games > 0 && games < totalGames) {
+            double overallRate = games / ((now - startNanos) / 1e9);
+            sb.append("  ETA ").append(formatDuration((long) ((totalGames - games) / overallRate)));
+        }
+        Map<String, Long> counts = new TreeMap<>();
+        violationsByCheck.forEach((check, n) -> counts.put(check, n.sum()));
+        sb.append("  violations: ");
+        if (counts.isEmpty()) {
+            sb.append("none");
+        } else {
+            StringBuilder list = new StringBuilder();
+            counts.forEach((check, n) -> list.append(list.isEmpty() ? "" : ", ").append(check).append('=').append(n));
+            sb.append(list);
+        }
+        out.println(sb);
+    }
+
+    private static String formatDuration(long seconds) {
+        if (seconds >= 3600) return (seconds / 3600) + "h" + (seconds % 3600 / 60) + "m";
+        if (seconds >= 60) return (seconds / 60) + "m" + (seconds % 60) + "s";
+        return seconds + "s";
+    }
+}
@@ -0,0 +1,86 @@
+package edu.brandeis.cosi103a.verifier;
+
+import java.io.PrintStream;
+
+/**
+ * Chooses each game's player setup from how productive the setups have been so far
+ * in the run, instead of cycling through them evenly. A game's reward is the number
+ * of distinct checks it violated plus a tenth of the new {@link OptionCoverage} it
+ * added. After every setup has been played {@value #WARMUP_ROUNDS} times in turn, each
+ * game goes to the setup with the best UCB1 score (mean reward, scaled by the best
+ * mean so far, plus an exploration bonus that grows while a setup waits). Every setup
+ * still gets at least {@value #MIN_SHARE_PERCENT}% of the games, so one that starts
+ * slowly is never dropped.
+ */
+final class SetupScheduler {
+    static final int WARMUP_ROUNDS = 2;
+    static final int MIN_SHARE_PERCENT = 5;
+
+    private final String[] names;
+    private final int[] players;
+    private final int[] plays;
+    private final double[] rewards;
+    private final long[] violations;
+    private final long[] coverage;
+    private int total;
+
+    /**
+     * @param names   display name of each setup
+     * @param players player count of each setup
+     */
+    SetupScheduler(String[] names, int[] players) {
+        this.names = names;
+        this.players = players;
+        this.plays = new int[names.length];
+        this.rewards = new double[names.length];
+        this.violations = new long[names.length];
+        this.coverage = new long[names.length];
+    }
+
+    int next() {
+        int setups = names.length;
+        if (total < setups * WARMUP_ROUNDS) {
+            return total % setups;
+        }
+        for (int s = 0; s < setups; s++) {
+            if (plays[s] * 100L < (long) total * MIN_SHARE_PERCENT) {
+                return s;
+            }
+        }
+        double bestMean = 0;
+        for (int s = 0; s < setups; s++) {
+            bestMean = Math.max(bestMean, rewards[s] / plays[s]);
+        }
+        int best = 0;
+        double bestScore = Double.NEGATIVE_INFINITY;
+        for (int s = 0; s < setups; s++) {
+            double mean = bestMean == 0 ? 0 : rewards[s] / plays[s] / bestMean;
+            double score = mean + Math.sqrt(2 * Math.log(total) / plays[s]);
+            if (score > bestScore) {
+                bestScore = score;
+                best = s;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Credits a finished game to its setup.
+     */
+    void record(int setup, int distinctChecksViolated, int violationCount, int newCoverage) {
+        plays[setup]++;
+        rewards[setup] += distinctChecksViolated + newCoverage / 10.0;
+        violations[setup] += violationCount;
+        coverage[setup] += newCoverage;
+        total++;
+    }
+
+    void printSummary(PrintStream out) {
+        out.println("Adaptive schedule over " + total + " games:");
+        out.println(String.format("  %-36s %7s %6s %11s %9s", "setup", "players", "games", "violations", "coverage"));
+        for (int s = 0; s < names.length; s++) {
+            out.println(String.format("  %-36s %7d %6d %11d %9d", names[s], players[s], plays[s],
+                    violations[s], coverage[s]));
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package edu.brandeis.cosi103a.verifier;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * The partial result of one shard of a run, as written by {@code --shard-out} and
+ * combined by {@code --merge}. The file is line-based text: a header of run
+ * parameters, then one tab-separated line per violation with tabs, newlines and
+ * backslashes escaped.
+ */
+public record ShardResult(String engineClass, long seed, int numGames, ShardSpec shard,
+                          VerificationResult result) {
+
+    private static final String MAGIC = "atg-verifier-shard 1";
+    private static final String NULL = "\\N";
+
+    public void write(Path file) throws IOException {
+        try (BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            out.write(MAGIC + "\n");
+            out.write("engine\t" + escape(engineClass) + "\n");
+            out.write("seed\t" + seed + "\n");
+            out.write("games\t" + numGames + "\n");
+            out.write("shard\t" + shard + "\n");
+            out.write("played\t" + result.gamesPlayed() + "\n");
+            out.write("passed\t" + result.gamesPassed() + "\n");
+            for (Violation v : result.violations()) {
+                out.write(String.join("\t", "violation",
+                        Integer.toString(v.gameIndex()), Integer.toString(v.turn()),
+                        escape(v.checkName()), escape(v.playerName()),
+                        escape(v.description()), escape(v.context()), escape(v.replayOf())) + "\n");
+            }
+        }
+    }
+
+    public static ShardResult read(Path file) throws IOException {
+        List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        if (lines.isEmpty() || !lines.get(0).equals(MAGIC)) {
+            throw new IOException(file + " is not a shard result file");
+        }
+        String engine = null;
+        long seed = 0;
+        int games = 0;
+        int played = 0;
+        int passed = 0;
+        ShardSpec shard = null;
+        List<Violation> violations = new ArrayList<>();
+        for (String line : lines.subList(1, lines.size())) {
+            String[] f = line.split("\t", -1);
+            try {
+                switch (f[0]) {
+                    case "engine" -> engine = unescape(f[1]);
+                    case "seed" -> seed = Long.parseLong(f[1]);
+                    case "games" -> games = Integer.parseInt(f[1]);
+                    case "shard" -> shard = ShardSpec.parse(f[1]);
+                    case "played" -> played = Integer.parseInt(f[1]);
+                    case "passed" -> passed = Integer.parseInt(f[1]);
+                    case "violation" -> violations.add(new Violation(unescape(f[3]), unescape(f[5]),
+                            Integer.parseInt(f[1]), Integer.parseInt(f[2]), unescape(f[4]), unescape(f[6]),
+                            f.length > 7 ? unescape(f[7]) : null));
+                    default -> throw new IOException("Unknown line in " + file + ": " + line);
+                }
+            } catch (RuntimeException e) {
+                throw new IOException("Malformed line in " + file + ": " + line, e);
+            }
+        }
+        if (shard == null) {
+            throw new IOException(file + " has no shard line");
+        }
+        return new ShardResult(engine, seed, games, shard, new VerificationResult(played, passed, violations));
+    }
+
+    /**
+     * Combines the results of every shard of one run into the report a single
+     * machine would have produced for the same seed.
+     *
+     * @throws IllegalArgumentException if the shards are from different runs or do not
+     *                                  cover each shard exactly once
+     */
+    public static VerificationResult merge(List<ShardResult> shards) {
+        if (shards.isEmpty()) {
+            throw new IllegalArgumentException("No shard results to merge");
+        }
+        ShardResult first = shards.get(0);
+        int count = first.shard().count();
+        boolean[] seen = new boolean[count];
+        int played = 0;
+        int passed = 0;
+        List<Violation> violations = new ArrayList<>();
+        for (ShardResult s : shards) {
+            if (s.seed() != first.seed() || s.numGames() != first.numGames()
+                    || s.shard().count() != count || !Objects.equals(s.engineClass(), first.engineClass())) {
+                throw new IllegalArgumentException("Shard " + s.shard() + " is from a different run than shard "
+                        + first.shard());
+            }
+            if (seen[s.shard().index()]) {
+                throw new IllegalArgumentException("Shard " + s.shard() + " given more than once");
+            }
+            seen[s.shard().index()] = true;
+            played += s.result().gamesPlayed();
+            passed += s.result().gamesPassed();
+            violations.addAll(s.result().violations());
+        }
+        for (int i = 0; i < count; i++) {
+            if (!seen[i]) {
+                throw new IllegalArgumentException("Missing shard " + i + "/" + count);
+            }
+        }
+        // A single run reports corpus replays first (only one shard plays them, so the
+        // stable sort keeps their order), then games in index order, with cross-game
+        // checks (-1) last
+        violations.sort(Comparator.comparingInt(v -> v.replayOf() != null ? Integer.MIN_VALUE
+                : v.gameIndex() < 0 ? Integer.MAX_VALUE : v.gameIndex()));
+        return new VerificationResult(played, passed, violations);
+    }
+
+    private static String escape(String s) {
+        if (s == null) return NULL;
+        return s.replace("\\", "\\\\").replace("\t", "\\t").replace("\n", "\\n").replace("\r", "\\r");
+    }
+
+    private static String unescape(String s) {
+        if (s.equals(NULL)) return null;
+        StringBuilder sb = new StringBuilder(s.length());
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c == '\\' && i + 1 < s.length()) {
+                char next = s.charAt(++i);
+                sb.append(switch (next) {
+                    case 't' -> '\t';
+                    case 'n' -> '\n';
+                    case 'r' -> '\r';
+                    default -> next;
+                });
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+}
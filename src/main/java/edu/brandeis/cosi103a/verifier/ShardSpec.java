@@ -0,0 +1,61 @@
+package edu.brandeis.cosi103a.verifier;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * One slice of a run split across machines, written {@code index/count} (0-based).
+ * Game indices are dealt to shards by a permutation seeded from the run seed, so
+ * every shard gets a similar mix of player setups whatever the shard count, and the
+ * shards of one run always partition its games exactly. Shard 0 also runs the
+ * violation test.
+ */
+public record ShardSpec(int index, int count) {
+
+    public ShardSpec {
+        if (count < 1 || index < 0 || index >= count) {
+            throw new IllegalArgumentException("Invalid shard " + index + "/" + count);
+        }
+    }
+
+    /**
+     * Parses {@code i/n}, e.g. {@code 2/8}.
+     */
+    public static ShardSpec parse(String spec) {
+        int slash = spec.indexOf('/');
+        if (slash < 0) {
+            throw new IllegalArgumentException("Shard must be written i/n: " + spec);
+        }
+        return new ShardSpec(Integer.parseInt(spec.substring(0, slash).trim()),
+                Integer.parseInt(spec.substring(slash + 1).trim()));
+    }
+
+    /**
+     * The game indices this shard runs, ascending.
+     */
+    public int[] gameIndices(long seed, int numGames) {
+        int[] order = new int[numGames];
+        for (int i = 0; i < numGames; i++) order[i] = i;
+        Random random = new Random(seed);
+        for (int i = numGames - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int tmp = order[i];
+            order[i] = order[j];
+            order[j] = tmp;
+        }
+        int from = (int) ((long) numGames * index / count);
+        int to = (int) ((long) numGames * (index + 1) / count);
+        int[] slice = Arrays.copyOfRange(order, from, to);
+        Arrays.sort(slice);
+        return slice;
+    }
+
+    public boolean runsViolationTest() {
+        return index == 0;
+    }
+
+    @Override
+    public String toString() {
+        return index + "/" + count;
+    }
+}
@@ -0,0 +1,54 @@
+package edu.brandeis.cosi103a.verifier;
+
+import edu.brandeis.cosi.atg.cards.Card;
+import edu.brandeis.cosi.atg.state.CardStacks;
+import edu.brandeis.cosi.atg.state.GameState;
+
+/**
+ * Cheap 64-bit fingerprints of the parts of a GameState that identify where a game
+ * is: supply counts and hand composition. Equal values always fingerprint equally;
+ * unequal values collide only with negligible probability.
+ */
+final class StateFingerprints {
+    private static final Card.Type[] TYPES = Card.Type.values();
+
+    private StateFingerprints() {
+    }
+
+    static long supply(CardStacks supply) {
+        if (supply == null) return 0;
+        long h = 1;
+        for (Card.Type type : TYPES) {
+            h = mix(h + supply.getNumAvailable(type));
+        }
+        return h;
+    }
+
+    /**
+     * Order-independent fingerprint of the card types in the current hand,
+     * distinguishing played from unplayed cards.
+     */
+    static long hand(GameState state) {
+        var hand = state.currentPlayerHand();
+        if (hand == null) return 0;
+        long h = 0;
+        for (Card card : hand.unplayedCards()) h += mix(card.type().ordinal() + 1);
+        for (Card card : hand.playedCards()) h += mix((card.type().ordinal() + 1L) << 32);
+        return h;
+    }
+
+    /**
+     * Fingerprint of supply, hand and phase together.
+     */
+    static long state(GameState state) {
+        long phase = state.phase() == null ? 0 : state.phase().ordinal() + 1;
+        return mix(supply(state.buyableCards()) ^ mix(hand(state) + phase));
+    }
+
+    // SplitMix64 finalizer
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
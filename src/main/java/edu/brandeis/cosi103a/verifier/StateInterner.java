@@ -0,0 +1,35 @@
+package edu.brandeis.cosi103a.verifier;
+
+import edu.brandeis.cosi.atg.state.GameState;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Shares one instance among recorded GameState snapshots that are equal, as
+ * {@link GameState#equals} defines it. Engines typically hand out a fresh snapshot
+ * per callback, so the same value is otherwise retained many times per trace.
+ * Only snapshots that are fully equal are merged, so a check never reads a state
+ * the engine did not send; the snapshot itself is the key, so interning allocates
+ * nothing beyond the map entry for a new value.
+ *
+ * <p>Not thread-safe; one interner serves one game's recording thread.
+ */
+final class StateInterner {
+    private final Map<GameState, GameState> canonical = new HashMap<>();
+    private GameState lastSeen;
+    private GameState lastCanonical;
+
+    /**
+     * Returns the shared instance equal to the given state (null stays null).
+     */
+    GameState intern(GameState state) {
+        if (state == null) return null;
+        if (state == lastSeen) return lastCanonical; // engines often reuse one snapshot
+        GameState shared = canonical.putIfAbsent(state, state);
+        if (shared == null) shared = state;
+        lastSeen = state;
+        lastCanonical = shared;
+        return shared;
+    }
+}
@@ -0,0 +1,27 @@
+package edu.brandeis.cosi103a.verifier;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * One game's {@link TraceSteps} read in fixed-size blocks, so two traces can be
+ * compared a block at a time without holding either one whole. Every block but the
+ * last holds exactly {@link #BLOCK_STEPS} steps.
+ */
+interface StepSource extends AutoCloseable {
+    int BLOCK_STEPS = 4096;
+
+    /**
+     * Consecutive steps plus the running hash of the trace through the last of them.
+     */
+    record Block(List<String> steps, long hash) {
+    }
+
+    /**
+     * The next block, or null once the trace has ended.
+     */
+    Block next() throws IOException;
+
+    @Override
+    void close() throws IOException;
+}
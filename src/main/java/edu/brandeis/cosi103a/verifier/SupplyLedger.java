@@ -0,0 +1,98 @@
+package edu.brandeis.cosi103a.verifier;
+
+import edu.brandeis.cosi.atg.cards.Card;
+import edu.brandeis.cosi.atg.event.Event;
+import edu.brandeis.cosi.atg.event.GainCardEvent;
+import edu.brandeis.cosi.atg.event.GameEndEvent;
+import edu.brandeis.cosi.atg.event.GameStartEvent;
+import edu.brandeis.cosi.atg.state.CardStacks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Supply counts per card type, seeded from GameStartEvent and decremented by each
+ * GainCardEvent, fed one observed event at a time. Used by the supply depletion
+ * check, both after play and while recording.
+ */
+final class SupplyLedger {
+    private static final Card.Type[] TYPES = Card.Type.values();
+
+    private final int gameIndex;
+    private final IntUnaryOperator turnOfEvent;
+    private final List<Violation> violations = new ArrayList<>();
+    private int[] ledger;
+
+    /**
+     * @param turnOfEvent maps a position in the event stream to its turn number
+     */
+    SupplyLedger(int gameIndex, IntUnaryOperator turnOfEvent) {
+        this.gameIndex = gameIndex;
+        this.turnOfEvent = turnOfEvent;
+    }
+
+    /**
+     * Applies the event at the given stream position.
+     */
+    void accept(ObservedEvent oe, int position) {
+        Event event = oe.event();
+        if (event instanceof GameStartEvent gse) {
+            ledger = counts(gse.initialSupply());
+            return;
+        }
+        if (ledger == null) return; // checked by lifecycle check
+
+        GainCardEvent gain = event instanceof GainCardEvent gce ? gce : null;
+        if (oe.state() != null && oe.state().buyableCards() != null) {
+            CardStacks observed = oe.state().buyableCards();
+            for (int t = 0; t < TYPES.length; t++) {
+                int actual = observed.getNumAvailable(TYPES[t]);
+                if (actual == ledger[t]) continue;
+                if (gain != null && gain.cardType() == TYPES[t] && actual == ledger[t] - 1) {
+                    continue; // engine applied the gain before notifying
+                }
+                violations.add(new Violation("Supply depletion",
+                        TYPES[t].description() + " supply is " + actual + " at "
+                                + event.getClass().getSimpleName() + " but expected " + ledger[t]
+                                + " from initial supply minus gains",
+                        gameIndex, turnOfEvent.applyAsInt(position), null));
+                ledger[t] = actual; // resync so one bad update is reported once
+            }
+        }
+        if (gain != null) {
+            int t = gain.cardType().ordinal();
+            if (ledger[t] <= 0) {
+                violations.add(new Violation("Supply depletion",
+                        "GainCardEvent(" + gain.cardType().description()
+                                + ") but supply was already empty",
+                        gameIndex, turnOfEvent.applyAsInt(position), null));
+            } else {
+                ledger[t]--;
+            }
+        }
+        if (event instanceof GameEndEvent gee) {
+            for (int t = 0; t < TYPES.length; t++) {
+                int actual = gee.finalSupply().getNumAvailable(TYPES[t]);
+                if (actual != ledger[t]) {
+                    violations.add(new Violation("Supply depletion",
+                            "GameEndEvent finalSupply has " + actual + " " + TYPES[t].description()
+                                    + " but expected " + ledger[t] + " from initial supply minus gains",
+                            gameIndex, turnOfEvent.applyAsInt(position), null));
+                }
+            }
+        }
+    }
+
+    List<Violation> violations() {
+        return violations;
+    }
+
+    private static int[] counts(CardStacks supply) {
+        int[] counts = new int[TYPES.length];
+        for (int t = 0; t < TYPES.length; t++) {
+            counts[t] = supply.getNumAvailable(TYPES[t]);
+        }
+        return counts;
+    }
+}
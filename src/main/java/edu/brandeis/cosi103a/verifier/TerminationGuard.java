@@ -0,0 +1,146 @@
+package edu.brandeis.cosi103a.verifier;
+
+import edu.brandeis.cosi.atg.cards.Card;
+import edu.brandeis.cosi.atg.state.GameState;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Stops games that will not end on their own. One guard is shared by a game's
+ * VerifierPlayers and consulted on every makeDecision, on the engine thread. A game
+ * is cycling once every player has played {@link Limits#cycleTurns} consecutive
+ * turns in which the supply did not change and every supply/hand/phase fingerprint
+ * had already been seen since it last changed (e.g. two PassiveStrategy players
+ * never buying). The default is above the turn limits engines typically use as a
+ * safety valve, so a game the engine would end itself is left to do so. Longer games
+ * that still make progress are only stopped by the decision and turn budgets.
+ * Once tripped, every further decision throws {@link NonTerminationException}.
+ */
+public class TerminationGuard {
+
+    /**
+     * @param maxDecisions decisions across all players before the game is stopped
+     * @param maxTurns     turns across all players before the game is stopped
+     * @param cycleTurns   consecutive turns per player with an unchanged supply and
+     *                     only recurring states before the game is stopped as cycling,
+     *                     or 0 to only apply the budgets
+     */
+    public record Limits(int maxDecisions, int maxTurns, int cycleTurns) {
+        public static Limits defaults() {
+            return new Limits(200_000, 5_000, 500);
+        }
+    }
+
+    private final Limits limits;
+    private final Set<String> players = new HashSet<>();
+    private final Set<Long> statesSinceSupplyChange = new HashSet<>();
+    private String turnPlayer;
+    private int turnPhase = -1;
+    private boolean turnOnlyRecurred;
+    private int staleTurns; // consecutive finished turns that only recurred, across all players
+    private long supplyFingerprint;
+    private int decisions;
+    private int turns;
+    private int decisionsSinceSupplyChange;
+    private int repeats;
+    private String reason;
+    private String player;
+
+    public TerminationGuard(Limits limits) {
+        this.limits = limits;
+    }
+
+    /**
+     * Accounts for one decision about to be made by the given player.
+     *
+     * @throws NonTerminationException if the game is cycling or has exceeded a budget
+     */
+    public void onDecision(String playerName, GameState state) {
+        if (reason != null) {
+            throw new NonTerminationException(reason);
+        }
+        decisions++;
+        String currentPlayer = state.currentPlayerName() != null ? state.currentPlayerName() : playerName;
+        if (countTurn(currentPlayer, state.phase())) {
+            if (turns > 1) {
+                staleTurns = turnOnlyRecurred ? staleTurns + 1 : 0; // the turn that just ended
+            }
+            turnOnlyRecurred = true;
+            players.add(currentPlayer);
+        }
+
+        long supply = StateFingerprints.supply(state.buyableCards());
+        if (supply != supplyFingerprint || decisionsSinceSupplyChange == 0) {
+            supplyFingerprint = supply;
+            statesSinceSupplyChange.clear();
+            decisionsSinceSupplyChange = 0;
+            repeats = 0;
+            staleTurns = 0;
+        }
+        decisionsSinceSupplyChange++;
+        long fingerprint = StateFingerprints.state(state) * 31 + playerName.hashCode();
+        if (statesSinceSupplyChange.add(fingerprint)) {
+            turnOnlyRecurred = false;
+        } else {
+            repeats++;
+        }
+
+        if (limits.cycleTurns() > 0 && staleTurns >= limits.cycleTurns() * players.size()) {
+            int frameworks = state.buyableCards() != null
+                    ? state.buyableCards().getNumAvailable(Card.Type.FRAMEWORK) : -1;
+            trip(playerName, "Game is cycling: " + staleTurns / players.size() + " turns per player with the"
+                    + " supply unchanged and only recurring states (" + statesSinceSupplyChange.size()
+                    + " distinct states seen " + repeats + " more times over " + decisionsSinceSupplyChange
+                    + " decisions, " + frameworks + " Frameworks left)");
+        } else if (turns > limits.maxTurns()) {
+            trip(playerName, "Game exceeded " + limits.maxTurns() + " turns without ending ("
+                    + decisions + " decisions)");
+        } else if (decisions > limits.maxDecisions()) {
+            trip(playerName, "Game exceeded " + limits.maxDecisions() + " decisions without ending ("
+                    + turns + " turns played)");
+        }
+    }
+
+    public boolean tripped() {
+        return reason != null;
+    }
+
+    /**
+     * The non-termination violation for a tripped guard.
+     */
+    public Violation violation(int gameIndex, int turn) {
+        return new Violation("Game termination", reason, gameIndex, turn, player);
+    }
+
+    private void trip(String playerName, String why) {
+        this.reason = why;
+        this.player = playerName;
+        throw new NonTerminationException(why);
+    }
+
+    /**
+     * A turn starts when another player's turn begins, or when the same player's main
+     * phase moves backwards (e.g. BUY then ACTION). Turns are counted from the
+     * decisions alone, even if the engine never fires EndTurnEvent or asks for only
+     * one phase per turn. Returns whether this decision starts a turn.
+     */
+    private boolean countTurn(String currentPlayer, GameState.TurnPhase phase) {
+        int ordinal = switch (phase) {
+            case ACTION -> 0;
+            case MONEY -> 1;
+            case BUY -> 2;
+            case CLEANUP -> 3;
+            default -> -1;
+        };
+        boolean started = !currentPlayer.equals(turnPlayer) || (ordinal >= 0 && ordinal < turnPhase);
+        turnPlayer = currentPlayer;
+        if (started || ordinal >= 0) {
+            turnPhase = ordinal;
+        }
+        if (started) {
+            turns++;
+        }
+        return started;
+    }
+}
@@ -0,0 +1,74 @@
+package edu.brandeis.cosi103a.verifier;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Throughput of one engine on a fixed seed plan, as written by {@code --baseline-out}
+ * and compared against by {@code --gate}. The file is line-based text: a header,
+ * then one tab-separated key and value per line. Latencies are in nanoseconds.
+ */
+public record ThroughputBaseline(String engineClass, long seed, int numGames, int trials,
+                                 double gamesPerSecond, long decisions,
+                                 long p50, long p90, long p99, long p999) {
+
+    private static final String MAGIC = "atg-verifier-baseline 1";
+
+    public void write(Path file) throws IOException {
+        try (BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            out.write(MAGIC + "\n");
+            out.write("engine\t" + engineClass + "\n");
+            out.write("seed\t" + seed + "\n");
+            out.write("games\t" + numGames + "\n");
+            out.write("trials\t" + trials + "\n");
+            out.write("games-per-second\t" + gamesPerSecond + "\n");
+            out.write("decisions\t" + decisions + "\n");
+            out.write("latency-p50\t" + p50 + "\n");
+            out.write("latency-p90\t" + p90 + "\n");
+            out.write("latency-p99\t" + p99 + "\n");
+            out.write("latency-p999\t" + p999 + "\n");
+        }
+    }
+
+    public static ThroughputBaseline read(Path file) throws IOException {
+        List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        if (lines.isEmpty() || !lines.get(0).equals(MAGIC)) {
+            throw new IOException(file + " is not a throughput baseline file");
+        }
+        Map<String, String> values = new HashMap<>();
+        for (String line : lines.subList(1, lines.size())) {
+            String[] f = line.split("\t", 2);
+            if (f.length == 2) {
+                values.put(f[0], f[1]);
+            }
+        }
+        try {
+            return new ThroughputBaseline(required(values, "engine", file),
+                    Long.parseLong(required(values, "seed", file)),
+                    Integer.parseInt(required(values, "games", file)),
+                    Integer.parseInt(required(values, "trials", file)),
+                    Double.parseDouble(required(values, "games-per-second", file)),
+                    Long.parseLong(required(values, "decisions", file)),
+                    Long.parseLong(required(values, "latency-p50", file)),
+                    Long.parseLong(required(values, "latency-p90", file)),
+                    Long.parseLong(required(values, "latency-p99", file)),
+                    Long.parseLong(required(values, "latency-p999", file)));
+        } catch (NumberFormatException e) {
+            throw new IOException(file + ": " + e.getMessage(), e);
+        }
+    }
+
+    private static String required(Map<String, String> values, String key, Path file) throws IOException {
+        String value = values.get(key);
+        if (value == null) {
+            throw new IOException(file + " is missing " + key);
+        }
+        return value;
+    }
+}
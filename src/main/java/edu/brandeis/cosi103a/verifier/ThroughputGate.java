@@ -0,0 +1,159 @@
+package edu.brandeis.cosi103a.verifier;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.NoSuchFileException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Measures how fast a run goes and compares it with a stored
+ * {@link ThroughputBaseline}. A measurement plays the baseline's seed plan (seed and
+ * game count) several times and keeps the fastest trial, which discards JIT warm-up
+ * and most interference from other load. Only the normal games are timed: the
+ * adversarial games (with their fixed sleeps and deadlines) and the determinism check
+ * still run and count towards compliance, but games per second does not depend on
+ * whether they are enabled. A corpus is neither replayed nor updated. Games per second and the p50 and
+ * p90 decision latencies are gated: the run regresses when any of them is worse
+ * than the baseline by more than the threshold. The p99 and p99.9 latencies are
+ * reported but swing too much between identical runs to gate on.
+ */
+public final class ThroughputGate {
+    /** Exit code for a run that is slower than its baseline. */
+    public static final int EXIT_REGRESSION = 3;
+
+    private final EngineLoader loader;
+    private final String engineClass;
+    private final VerifierOptions options;
+    private final List<GameListener> listeners = new ArrayList<>();
+
+    /**
+     * The fastest trial's throughput, and the last trial's verification result.
+     */
+    record Measurement(ThroughputBaseline throughput, VerificationResult result) {
+    }
+
+    /**
+     * The trials run on a copy of the options without the corpus, so measuring neither
+     * changes the caller's options nor replays and rewrites the corpus once per trial.
+     */
+    public ThroughputGate(EngineLoader loader, String engineClass, VerifierOptions options) {
+        this.loader = loader;
+        this.engineClass = engineClass;
+        this.options = options.copy().corpusFile(null);
+    }
+
+    /**
+     * Adds a listener to every trial's harness.
+     */
+    public void addListener(GameListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Measures, writes the baseline and/or gates against one as the options ask, prints
+     * the report and returns the exit code: 0 if within the baseline and compliant,
+     * 1 for violations, 2 on error, {@link #EXIT_REGRESSION} for a slowdown.
+     */
+    public int run(PrintStream out) {
+        try {
+            ThroughputBaseline baseline = null;
+            if (options.gateFile() != null) {
+                baseline = ThroughputBaseline.read(options.gateFile());
+                options.seed(baseline.seed()).numGames(baseline.numGames()); // same plan as the baseline
+            }
+            Measurement measured = measure(options.trials());
+            if (options.baselineOut() != null) {
+                measured.throughput().write(options.baselineOut());
+            }
+            out.println(measured.result().formatReport(engineClass));
+            boolean regressed = false;
+            if (baseline != null) {
+                regressed = compare(baseline, measured.throughput(), options.gateThreshold(), out);
+            } else {
+                print(measured.throughput(), out);
+            }
+            if (!measured.result().isCompliant()) return 1;
+            return regressed ? EXIT_REGRESSION : 0;
+        } catch (NoSuchFileException e) {
+            out.println("Error: file not found: " + e.getMessage());
+            return 2;
+        } catch (IOException e) {
+            out.println("Error: " + e.getMessage());
+            return 2;
+        }
+    }
+
+    /**
+     * Plays the options' seed plan the given number of times and keeps the fastest trial.
+     */
+    Measurement measure(int trials) {
+        ThroughputBaseline best = null;
+        VerificationResult result = null;
+        for (int t = 0; t < trials; t++) {
+            VerifierHarness harness = new VerifierHarness(loader, options);
+            listeners.forEach(harness::addListener);
+            LatencyHistogram latency = new LatencyHistogram();
+            harness.measureDecisionLatency(latency);
+            result = harness.verify();
+            double seconds = Math.max(harness.gameLoopNanos() / 1e9, 1e-9);
+            ThroughputBaseline trial = new ThroughputBaseline(engineClass, options.seed(), options.numGames(),
+                    trials, harness.normalGames() / seconds, latency.count(),
+                    latency.percentile(50), latency.percentile(90), latency.percentile(99),
+                    latency.percentile(99.9));
+            if (best == null || trial.gamesPerSecond() > best.gamesPerSecond()) {
+                best = trial;
+            }
+        }
+        return new Measurement(best, result);
+    }
+
+    /**
+     * Prints the comparison table and returns whether any gated metric regressed.
+     */
+    static boolean compare(ThroughputBaseline baseline, ThroughputBaseline current, double thresholdPercent,
+                           PrintStream out) {
+        out.println(String.format("Throughput gate: seed %d, %d games, best of %d trials, threshold %.0f%%",
+                current.seed(), current.numGames(), current.trials(), thresholdPercent));
+        if (!baseline.engineClass().equals(current.engineClass())) {
+            out.println("  note: baseline was measured for " + baseline.engineClass());
+        }
+        out.println(String.format("  %-20s %12s %12s %9s", "metric", "baseline", "current", "change"));
+        List<String> regressions = new ArrayList<>();
+        row(out, regressions, "games/s", baseline.gamesPerSecond(), current.gamesPerSecond(), true,
+                thresholdPercent, true);
+        row(out, regressions, "latency p50 (us)", baseline.p50() / 1e3, current.p50() / 1e3, false,
+                thresholdPercent, true);
+        row(out, regressions, "latency p90 (us)", baseline.p90() / 1e3, current.p90() / 1e3, false,
+                thresholdPercent, true);
+        row(out, regressions, "latency p99 (us)", baseline.p99() / 1e3, current.p99() / 1e3, false,
+                thresholdPercent, false);
+        row(out, regressions, "latency p99.9 (us)", baseline.p999() / 1e3, current.p999() / 1e3, false,
+                thresholdPercent, false);
+        if (regressions.isEmpty()) {
+            out.println("Gate: PASS");
+            return false;
+        }
+        out.println("Gate: REGRESSION (" + String.join(", ", regressions) + ")");
+        return true;
+    }
+
+    private static void print(ThroughputBaseline t, PrintStream out) {
+        out.println(String.format("Throughput: seed %d, %d games, best of %d trials", t.seed(), t.numGames(), t.trials()));
+        out.println(String.format("  games/s %.1f, decision latency p50 %.2f us, p90 %.2f us, p99 %.2f us,"
+                + " p99.9 %.2f us over %d decisions", t.gamesPerSecond(), t.p50() / 1e3, t.p90() / 1e3,
+                t.p99() / 1e3, t.p999() / 1e3, t.decisions()));
+    }
+
+    private static void row(PrintStream out, List<String> regressions, String metric, double baseline,
+                            double current, boolean higherIsBetter, double thresholdPercent, boolean gated) {
+        double change = baseline == 0 ? 0 : 100.0 * (current - baseline) / baseline;
+        double worse = higherIsBetter ? -change : change;
+        boolean regressed = gated && worse > thresholdPercent;
+        if (regressed) {
+            regressions.add(String.format("%s %+.1f%%", metric, change));
+        }
+        out.println(String.format("%s %-20s %12.2f %12.2f %+8.1f%%", regressed ? "*" : " ", metric,
+                baseline, current, change));
+    }
+}
@@ -0,0 +1,263 @@
+package edu.brandeis.cosi103a.verifier;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Compares two versions of an engine game by game. Each side is either an engine
+ * JAR, whose games are played live with the run's seed plan, or a directory of
+ * traces stored earlier with {@code --record}. Both traces are read a block at a
+ * time and only the current blocks are held: blocks whose running hashes agree are
+ * passed over without comparing steps, and the first block that disagrees is
+ * scanned for the first differing step, which is printed with both sides' states
+ * next to each other.
+ */
+public class TraceDiff {
+    static final String END_OF_TRACE = "<end of trace>";
+
+    private static final int COLUMN = 48;
+
+    /** The options a diff or recording uses; the harness's others would be ignored. */
+    private static final List<String> OPTIONS = List.of("--seed", "--max-decisions", "--max-turns", "--cycle-turns");
+
+    /**
+     * Where two traces first part. Both steps are null when the traces are identical,
+     * in which case {@code step} is their length.
+     */
+    record Comparison(long step, int turn, String previous, String stepA, String stepB) {
+        boolean identical() {
+            return stepA == null && stepB == null;
+        }
+    }
+
+    /**
+     * One side of a diff: a live engine or a directory of stored traces.
+     */
+    private record Side(String label, EngineLoader loader, Path dir) {
+        StepSource open(long seed, int gameIndex, TerminationGuard.Limits limits) throws IOException {
+            return loader != null
+                    ? new LiveTrace(loader, seed, gameIndex, limits)
+                    : TraceFile.open(TraceFile.path(dir, gameIndex), seed, gameIndex);
+        }
+    }
+
+    private TraceDiff() {
+    }
+
+    /**
+     * Reads both sources up to their first difference.
+     */
+    static Comparison compare(StepSource a, StepSource b) throws IOException {
+        long step = 0;
+        int turn = 0;
+        String previous = null;
+        while (true) {
+            StepSource.Block blockA = a.next();
+            StepSource.Block blockB = b.next();
+            if (blockA == null && blockB == null) {
+                return new Comparison(step, turn, previous, null, null);
+            }
+            List<String> stepsA = blockA == null ? List.of() : blockA.steps();
+            List<String> stepsB = blockB == null ? List.of() : blockB.steps();
+            boolean sameBlock = blockA != null && blockB != null
+                    && blockA.hash() == blockB.hash() && stepsA.size() == stepsB.size();
+            int n = Math.min(stepsA.size(), stepsB.size());
+            for (int i = 0; i < n; i++) {
+                String stepA = stepsA.get(i);
+                if (!sameBlock && !stepA.equals(stepsB.get(i))) {
+                    return new Comparison(step + i, turn, i == 0 ? previous : stepsA.get(i - 1), stepA, stepsB.get(i));
+                }
+                if (TraceSteps.isEndTurn(stepA)) turn++;
+            }
+            step += n;
+            if (stepsA.size() != stepsB.size()) {
+                return new Comparison(step, turn, n == 0 ? previous : stepsA.get(n - 1),
+                        n < stepsA.size() ? stepsA.get(n) : END_OF_TRACE,
+                        n < stepsB.size() ? stepsB.get(n) : END_OF_TRACE);
+            }
+            previous = stepsA.get(n - 1);
+        }
+    }
+
+    /**
+     * Prints the first difference with the fields of both steps next to each other,
+     * marking the fields that differ.
+     */
+    static void printSideBySide(PrintStream out, String labelA, String labelB, Comparison c) {
+        out.println("  after:  " + (c.previous() == null ? "<start of trace>" : summary(c.previous())));
+        String[] a = fields(c.stepA());
+        String[] b = fields(c.stepB());
+        out.println(String.format("    %-8s %-" + COLUMN + "s %s", "", "A: " + labelA, "B: " + labelB));
+        for (int f = 0; f < TraceSteps.FIELDS.size(); f++) {
+            boolean differs = !a[f].equals(b[f]);
+            String name = TraceSteps.FIELDS.get(f);
+            if (a[f].length() <= COLUMN && b[f].length() <= COLUMN) {
+                out.println(String.format("  %s %-8s %-" + COLUMN + "s %s", differs ? "*" : " ", name, a[f], b[f]));
+            } else {
+                out.println(String.format("  %s %-8s A: %s", differs ? "*" : " ", name, a[f]));
+                out.println(String.format("    %-8s B: %s", "", b[f]));
+            }
+        }
+    }
+
+    /**
+     * Names of the step fields that differ at the first difference.
+     */
+    static List<String> differingFields(Comparison c) {
+        String[] a = fields(c.stepA());
+        String[] b = fields(c.stepB());
+        List<String> names = new ArrayList<>();
+        for (int f = 0; f < a.length; f++) {
+            if (!a[f].equals(b[f])) names.add(TraceSteps.FIELDS.get(f));
+        }
+        return names;
+    }
+
+    /**
+     * The named field of a step, or "" if absent.
+     */
+    static String field(String step, String name) {
+        return fields(step)[TraceSteps.FIELDS.indexOf(name)];
+    }
+
+    private static String[] fields(String step) {
+        String[] fields = new String[TraceSteps.FIELDS.size()];
+        Arrays.fill(fields, "");
+        if (step.equals(END_OF_TRACE)) {
+            fields[0] = step;
+            return fields;
+        }
+        String[] parts = step.split("\t", -1);
+        System.arraycopy(parts, 0, fields, 0, Math.min(parts.length, fields.length));
+        return fields;
+    }
+
+    static String summary(String step) {
+        String[] f = fields(step);
+        return f[0] + " " + f[1] + (f[2].isEmpty() ? "" : ": " + f[2]);
+    }
+
+    // --- CLI ---
+
+    /**
+     * Parses {@code [numGames]} and {@link #OPTIONS} from args[2] onward, as
+     * {@link VerifierOptions#fromArgs} does.
+     *
+     * @throws IllegalArgumentException for any other option, even one the harness knows
+     */
+    static VerifierOptions options(String[] args) {
+        for (int i = 2; i < args.length; i++) {
+            if (OPTIONS.contains(args[i])) {
+                i++; // its value
+            } else if (i > 2 || args[i].startsWith("-")) {
+                throw new IllegalArgumentException("Unknown option: " + args[i] + " (a diff uses only "
+                        + String.join(", ", OPTIONS) + ")");
+            }
+        }
+        return VerifierOptions.fromArgs(args);
+    }
+
+    public static void main(String[] args) {
+        try {
+            if (args.length >= 4 && args[0].equals("--record")) {
+                System.exit(record(args[1], args[2], Path.of(args[3]),
+                        options(Arrays.copyOfRange(args, 2, args.length))));
+            }
+            if (args.length < 3 || args[0].startsWith("--")) {
+                System.err.println("Usage: TraceDiff <jar-or-trace-dir-a> <jar-or-trace-dir-b> <engine-class-fqn>"
+                        + " [numGames] [--seed N] [--max-decisions N] [--max-turns N] [--cycle-turns N]");
+                System.err.println("       TraceDiff --record <jar-path> <engine-class-fqn> <trace-dir>"
+                        + " [numGames] [--seed N] [--max-decisions N] [--max-turns N] [--cycle-turns N]");
+                System.exit(2);
+            }
+            System.exit(diff(args[0], args[1], args[2], options(Arrays.copyOfRange(args, 1, args.length))));
+        } catch (IllegalArgumentException e) {
+            System.err.println("Error: " + e.getMessage());
+            System.exit(2);
+        }
+    }
+
+    /**
+     * Diffs every game of the run; returns 0 if all are identical, 1 if any differ, 2 on error.
+     */
+    private static int diff(String a, String b, String className, VerifierOptions options) {
+        Side sideA = null;
+        Side sideB = null;
+        try {
+            sideA = side(a, className);
+            sideB = side(b, className);
+            int differing = 0;
+            for (int i = 0; i < options.numGames(); i++) {
+                Comparison c;
+                try (StepSource sourceA = sideA.open(options.seed(), i, options.terminationLimits());
+                     StepSource sourceB = sideB.open(options.seed(), i, options.terminationLimits())) {
+                    c = compare(sourceA, sourceB);
+                }
+                if (c.identical()) {
+                    System.out.println("Game " + i + ": identical (" + c.step() + " steps)");
+                } else {
+                    differing++;
+                    System.out.println("Game " + i + ": first difference at step " + c.step()
+                            + " (turn " + c.turn() + ")");
+                    printSideBySide(System.out, sideA.label(), sideB.label(), c);
+                }
+            }
+            System.out.println(differing == 0
+                    ? "All " + options.numGames() + " games identical"
+                    : differing + " of " + options.numGames() + " games differ");
+            return differing == 0 ? 0 : 1;
+        } catch (Exception e) {
+            System.err.println("Error: " + e.getMessage());
+            return 2;
+        } finally {
+            closeQuietly(sideA);
+            closeQuietly(sideB);
+        }
+    }
+
+    /**
+     * Plays every game of the run on one engine and stores the traces for later diffs.
+     */
+    private static int record(String jarPath, String className, Path dir, VerifierOptions options) {
+        try (EngineLoader loader = new EngineLoader(jarPath, className)) {
+            Files.createDirectories(dir);
+            for (int i = 0; i < options.numGames(); i++) {
+                try (StepSource source = new LiveTrace(loader, options.seed(), i, options.terminationLimits())) {
+                    long steps = TraceFile.write(TraceFile.path(dir, i), className, options.seed(), i, source);
+                    System.out.println("Game " + i + ": " + steps + " steps");
+                }
+            }
+            return 0;
+        } catch (Exception e) {
+            System.err.println("Error: " + e.getMessage());
+            return 2;
+        }
+    }
+
+    private static Side side(String path, String className) throws Exception {
+        File file = new File(path);
+        if (file.isDirectory()) {
+            return new Side(path, null, file.toPath());
+        }
+        if (!file.isFile()) {
+            throw new IOException("JAR file or trace directory not found: " + path);
+        }
+        return new Side(path, new EngineLoader(path, className), null);
+    }
+
+    private static void closeQuietly(Side side) {
+        if (side != null && side.loader() != null) {
+            try {
+                side.loader().close();
+            } catch (IOException e) {
+                // nothing left to do
+            }
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package edu.brandeis.cosi103a.verifier;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * A stored game trace, as written by {@code TraceDiff --record}: a gzipped text
+ * file of one {@link TraceSteps} line per step. After every
+ * {@link StepSource#BLOCK_STEPS} steps, and at the end, a checkpoint line carries
+ * the running hash, so a reader hands out blocks without re-hashing them.
+ *
+ * <pre>
+ * atg-trace 1	&lt;engine class&gt;	&lt;run seed&gt;	&lt;game index&gt;
+ * S	&lt;step&gt;
+ * H	&lt;steps so far&gt;	&lt;running hash, hex&gt;
+ * </pre>
+ */
+final class TraceFile {
+    private static final String MAGIC = "atg-trace 1";
+
+    private TraceFile() {
+    }
+
+    static Path path(Path dir, int gameIndex) {
+        return dir.resolve("game-" + gameIndex + ".trace.gz");
+    }
+
+    /**
+     * Copies a whole source into a trace file.
+     */
+    static long write(Path file, String engineClass, long seed, int gameIndex, StepSource source)
+            throws IOException {
+        long steps = 0;
+        try (BufferedWriter out = new BufferedWriter(new OutputStreamWriter(
+                new GZIPOutputStream(Files.newOutputStream(file), 1 << 16), StandardCharsets.UTF_8))) {
+            out.write(MAGIC + "\t" + engineClass + "\t" + seed + "\t" + gameIndex + "\n");
+            for (StepSource.Block block = source.next(); block != null; block = source.next()) {
+                for (String step : block.steps()) {
+                    out.write("S\t");
+                    out.write(step);
+                    out.write('\n');
+                }
+                steps += block.steps().size();
+                out.write("H\t" + steps + "\t" + Long.toHexString(block.hash()) + "\n");
+            }
+        }
+        return steps;
+    }
+
+    /**
+     * Opens a stored trace for reading, checking it is the given game of the given run.
+     */
+    static StepSource open(Path file, long seed, int gameIndex) throws IOException {
+        BufferedReader in = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(file), 1 << 16), StandardCharsets.UTF_8));
+        try {
+            String header = in.readLine();
+            String[] f = header == null ? new String[0] : header.split("\t", -1);
+            if (f.length != 4 || !f[0].equals(MAGIC)) {
+                throw new IOException(file + " is not a trace file");
+            }
+            if (Long.parseLong(f[2]) != seed || Integer.parseInt(f[3]) != gameIndex) {
+                throw new IOException(file + " holds game " + f[3] + " of seed " + f[2]
+                        + ", expected game " + gameIndex + " of seed " + seed);
+            }
+        } catch (IOException | RuntimeException e) {
+            in.close();
+            throw e instanceof IOException io ? io : new IOException(file + ": bad header", e);
+        }
+        return new Reader(file, in);
+    }
+
+    private static final class Reader implements StepSource {
+        private final Path file;
+        private final BufferedReader in;
+
+        Reader(Path file, BufferedReader in) {
+            this.file = file;
+            this.in = in;
+        }
+
+        @Override
+        public Block next() throws IOException {
+            List<String> steps = new ArrayList<>(BLOCK_STEPS);
+            for (String line = in.readLine(); line != null; line = in.readLine()) {
+                if (line.startsWith("S\t")) {
+                    steps.add(line.substring(2));
+                } else if (line.startsWith("H\t")) {
+                    String[] f = line.split("\t");
+                    try {
+                        return new Block(steps, Long.parseUnsignedLong(f[2], 16));
+                    } catch (RuntimeException e) {
+                        throw new IOException(file + ": bad checkpoint line: " + line, e);
+                    }
+                } else {
+                    throw new IOException(file + ": unexpected line: " + line);
+                }
+            }
+            if (!steps.isEmpty()) {
+                throw new IOException(file + " is truncated");
+            }
+            return null;
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+}
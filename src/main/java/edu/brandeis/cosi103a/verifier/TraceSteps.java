@@ -0,0 +1,129 @@
+package edu.brandeis.cosi103a.verifier;
+
+import edu.brandeis.cosi.atg.cards.Card;
+import edu.brandeis.cosi.atg.decisions.BuyDecision;
+import edu.brandeis.cosi.atg.decisions.Decision;
+import edu.brandeis.cosi.atg.decisions.GainCardDecision;
+import edu.brandeis.cosi.atg.decisions.PlayCardDecision;
+import edu.brandeis.cosi.atg.state.CardStacks;
+import edu.brandeis.cosi.atg.state.GameResult;
+import edu.brandeis.cosi.atg.state.GameState;
+import edu.brandeis.cosi.atg.state.PlayerResult;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.StringJoiner;
+
+/**
+ * Canonical one-line rendering of the steps of a game (events, decisions and the
+ * outcome) for comparing traces. A step is tab-separated {@link #FIELDS}; the state
+ * fields render only values, never engine object identities, so equal behavior
+ * renders equal text on any JVM.
+ */
+final class TraceSteps {
+    static final List<String> FIELDS = List.of(
+            "kind", "subject", "detail", "phase", "actions", "money", "buys", "hand", "supply");
+
+    private static final Card.Type[] TYPES = Card.Type.values();
+
+    private TraceSteps() {
+    }
+
+    static String event(ObservedEvent oe) {
+        String type = oe.event() == null ? "null" : oe.event().getClass().getSimpleName();
+        String description = oe.event() == null ? "" : oe.event().getDescription();
+        return step("event", type, description, oe.state());
+    }
+
+    static String decision(String player, DecisionRecord record) {
+        StringJoiner options = new StringJoiner(", ", "[", "]");
+        for (Decision option : record.options()) {
+            options.add(decision(option));
+        }
+        return step("decision", player, decision(record.chosen()) + " from " + options, record.state());
+    }
+
+    static String result(GameResult result) {
+        StringJoiner scores = new StringJoiner(", ");
+        for (PlayerResult pr : result.playerResults()) {
+            scores.add(pr.playerName() + "=" + pr.score() + " (" + pr.endingDeck().size() + " cards)");
+        }
+        return step("result", "", scores.toString(), null);
+    }
+
+    static String error(Throwable t) {
+        return step("error", t.getClass().getName(), String.valueOf(t.getMessage()), null);
+    }
+
+    static boolean isEndTurn(String step) {
+        return step.startsWith("event\tEndTurnEvent\t");
+    }
+
+    /**
+     * Folds one step into a running hash over a whole trace.
+     */
+    static long hash(long running, String step) {
+        long h = 0xcbf29ce484222325L; // FNV-1a over the UTF-8 bytes
+        for (byte b : step.getBytes(StandardCharsets.UTF_8)) {
+            h = (h ^ (b & 0xff)) * 0x100000001b3L;
+        }
+        long z = running * 0x9e3779b97f4a7c15L + h;
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    private static String step(String kind, String subject, String detail, GameState state) {
+        StringJoiner fields = new StringJoiner("\t");
+        fields.add(kind).add(clean(subject)).add(clean(detail));
+        if (state == null) {
+            fields.add("-").add("-").add("-").add("-").add("-").add("-");
+        } else {
+            fields.add(String.valueOf(state.phase()))
+                    .add(Integer.toString(state.availableActions()))
+                    .add(Integer.toString(state.spendableMoney()))
+                    .add(Integer.toString(state.availableBuys()))
+                    .add(hand(state))
+                    .add(supply(state.buyableCards()));
+        }
+        return fields.toString();
+    }
+
+    static String decision(Decision decision) {
+        if (decision instanceof BuyDecision bd) return "Buy(" + bd.cardType() + ")";
+        if (decision instanceof GainCardDecision gd) return "Gain(" + gd.cardType() + ")";
+        if (decision instanceof PlayCardDecision pd) return "Play(" + pd.card().type() + ")";
+        return decision == null ? "null" : decision.getClass().getSimpleName();
+    }
+
+    private static String hand(GameState state) {
+        var hand = state.currentPlayerHand();
+        if (hand == null) return "-";
+        int[] unplayed = new int[TYPES.length];
+        int[] played = new int[TYPES.length];
+        for (Card card : hand.unplayedCards()) unplayed[card.type().ordinal()]++;
+        for (Card card : hand.playedCards()) played[card.type().ordinal()]++;
+        return counts(unplayed) + " / played " + counts(played);
+    }
+
+    private static String supply(CardStacks supply) {
+        if (supply == null) return "-";
+        int[] counts = new int[TYPES.length];
+        for (int t = 0; t < TYPES.length; t++) {
+            counts[t] = supply.getNumAvailable(TYPES[t]);
+        }
+        return counts(counts);
+    }
+
+    private static String counts(int[] counts) {
+        StringJoiner joined = new StringJoiner(" ", "[", "]");
+        for (int t = 0; t < counts.length; t++) {
+            if (counts[t] > 0) joined.add(TYPES[t] + ":" + counts[t]);
+        }
+        return joined.toString();
+    }
+
+    private static String clean(String text) {
+        return text == null ? "null" : text.replace('\t', ' ').replace('\n', ' ').replace('\r', ' ');
+    }
+}
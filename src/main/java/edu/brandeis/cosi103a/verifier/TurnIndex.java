@@ -0,0 +1,94 @@
+package edu.brandeis.cosi103a.verifier;
+
+import edu.brandeis.cosi.atg.event.EndTurnEvent;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Segments a trace into turns at EndTurnEvent boundaries, covering both the
+ * observer event stream and each player's decision list. Turn t runs from the
+ * event after the t-th EndTurnEvent up to and including the next one; the last
+ * turn holds whatever follows the final EndTurnEvent (e.g. GameEndEvent).
+ * A decision belongs to the turn of the first event recorded after it.
+ */
+public final class TurnIndex {
+    private final List<ObservedEvent> events;
+    private final Map<String, List<DecisionRecord>> decisions;
+    private final int[] turnStarts; // first event index of each turn
+    private final Map<String, int[]> decisionStarts; // per player, first decision index of each turn, plus end
+
+    private TurnIndex(List<ObservedEvent> events, Map<String, List<DecisionRecord>> decisions,
+                      int[] turnStarts, Map<String, int[]> decisionStarts) {
+        this.events = events;
+        this.decisions = decisions;
+        this.turnStarts = turnStarts;
+        this.decisionStarts = decisionStarts;
+    }
+
+    /**
+     * Builds the index in one pass over the events and one pass over each player's decisions.
+     */
+    public static TurnIndex build(List<ObservedEvent> events, Map<String, List<DecisionRecord>> decisions) {
+        int[] starts = new int[16];
+        int turns = 1;
+        for (int i = 0; i < events.size(); i++) {
+            if (events.get(i).event() instanceof EndTurnEvent) {
+                if (turns == starts.length) starts = Arrays.copyOf(starts, turns * 2);
+                starts[turns++] = i + 1;
+            }
+        }
+        int[] turnStarts = Arrays.copyOf(starts, turns);
+
+        Map<String, int[]> decisionStarts = new LinkedHashMap<>();
+        for (var entry : decisions.entrySet()) {
+            List<DecisionRecord> records = entry.getValue();
+            int[] playerStarts = new int[turns + 1];
+            int turn = 0;
+            for (int d = 0; d < records.size(); d++) {
+                int decisionTurn = turnAt(turnStarts, records.get(d).eventIndex());
+                while (turn < decisionTurn) {
+                    playerStarts[++turn] = d;
+                }
+            }
+            while (turn < turns) {
+                playerStarts[++turn] = records.size();
+            }
+            decisionStarts.put(entry.getKey(), playerStarts);
+        }
+        return new TurnIndex(events, decisions, turnStarts, decisionStarts);
+    }
+
+    public int turnCount() {
+        return turnStarts.length;
+    }
+
+    public int turnOfEvent(int eventIndex) {
+        return turnAt(turnStarts, eventIndex);
+    }
+
+    public int turnOfDecision(DecisionRecord record) {
+        return turnAt(turnStarts, record.eventIndex());
+    }
+
+    public List<ObservedEvent> eventsOf(int turn) {
+        int end = turn + 1 < turnStarts.length ? turnStarts[turn + 1] : events.size();
+        return events.subList(turnStarts[turn], end);
+    }
+
+    public List<DecisionRecord> decisionsOf(String player, int turn) {
+        int[] starts = decisionStarts.get(player);
+        if (starts == null) return List.of();
+        return decisions.get(player).subList(starts[turn], starts[turn + 1]);
+    }
+
+    /**
+     * Turn containing the given position in the event stream. Unplaced positions (-1) map to turn 0.
+     */
+    private static int turnAt(int[] turnStarts, int position) {
+        int found = Arrays.binarySearch(turnStarts, Math.max(position, 0));
+        return found >= 0 ? found : -found - 2;
+    }
+}
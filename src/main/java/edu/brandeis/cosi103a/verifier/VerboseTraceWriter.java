@@ -0,0 +1,228 @@
+package edu.brandeis.cosi103a.verifier;
+
+import edu.brandeis.cosi.atg.decisions.Decision;
+import edu.brandeis.cosi.atg.state.PlayerResult;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.StringJoiner;
+import java.util.TreeSet;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes verbose game traces on a background thread, so formatting and output cost
+ * the game thread only a queue hand-off. A trace lists the game's events with each
+ * decision (player, phase, choice and options) placed before the event that followed
+ * it, then the result or error and the game's violations.
+ *
+ * <p>Without a directory, traces of failed games go to the run's log (stderr unless
+ * the options say otherwise). With one, each game's trace is gzipped into
+ * {@code game-<i>.verbose.gz} (a corpus replay into
+ * {@code replay-seed-<s>-game-<i>.verbose.gz}) and described by a line of
+ * {@value #INDEX} (game, status, violation count, failed checks, events, decisions,
+ * file), optionally for failed games only. The queue holds at most
+ * {@value #QUEUE_GAMES} games; if the writer falls that far behind, games wait for it.
+ */
+final class VerboseTraceWriter implements AutoCloseable {
+    static final String INDEX = "index.tsv";
+    static final int QUEUE_GAMES = 64;
+
+    private record Job(GameTrace trace, List<Violation> violations, String replayOf) {
+        /** The game as the report names it. */
+        String label() {
+            return replayOf != null ? "Replay of " + replayOf : "Game " + trace.gameIndex();
+        }
+
+        String fileName() {
+            return (replayOf != null ? "replay-" + replayOf.replace(' ', '-') : "game-" + trace.gameIndex())
+                    + ".verbose.gz";
+        }
+    }
+
+    private static final Job END = new Job(null, null, null);
+
+    private final BlockingQueue<Job> queue = new ArrayBlockingQueue<>(QUEUE_GAMES);
+    private final Path dir;
+    private final PrintStream log;
+    private final boolean failedOnly;
+    private final Writer index;
+    private final Thread thread;
+    private volatile IOException failure;
+
+    /**
+     * @param dir        directory for the gzipped traces and index, or null for the log
+     * @param failedOnly whether to skip games that passed (always so for the log)
+     * @param log        where traces without a directory and notes about dropped traces go
+     */
+    VerboseTraceWriter(Path dir, boolean failedOnly, PrintStream log) throws IOException {
+        this.dir = dir;
+        this.log = log;
+        this.failedOnly = failedOnly || dir == null;
+        if (dir != null) {
+            Files.createDirectories(dir);
+            index = Files.newBufferedWriter(dir.resolve(INDEX), StandardCharsets.UTF_8);
+            index.write("game\tstatus\tviolations\tchecks\tevents\tdecisions\tfile\n");
+        } else {
+            index = null;
+        }
+        thread = Thread.ofPlatform().name("verbose-trace-writer").daemon().start(this::drain);
+    }
+
+    /**
+     * Queues a finished game's trace; skipped if it passed and only failures are kept.
+     * If the caller is interrupted while the queue is full, the trace is dropped and
+     * the log names the game.
+     */
+    void submit(GameTrace trace, List<Violation> violations) {
+        submit(trace, violations, null);
+    }
+
+    /**
+     * Queues the trace of a replay of the given corpus game, as {@link #submit(GameTrace, List)}.
+     */
+    void submit(GameTrace trace, List<Violation> violations, String replayOf) {
+        if (failure != null) {
+            throw new UncheckedIOException("Could not write verbose trace", failure);
+        }
+        if (failedOnly && passed(trace, violations)) {
+            return;
+        }
+        Job job = new Job(trace, violations, replayOf);
+        try {
+            queue.put(job);
+        } catch (InterruptedException e) {
+            // The writer thread owns the output, so the trace cannot be written here instead
+            log.println("Interrupted; verbose trace for " + job.label() + " not written");
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Writes what is still queued and closes the index.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            queue.put(END);
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (index != null) {
+            index.close();
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private void drain() {
+        Writer logWriter = dir == null ? new BufferedWriter(new OutputStreamWriter(log, StandardCharsets.UTF_8),
+                1 << 16) : null;
+        while (true) {
+            Job job;
+            try {
+                job = queue.take();
+            } catch (InterruptedException e) {
+                return;
+            }
+            if (job == END) {
+                return;
+            }
+            if (failure != null) {
+                continue; // keep draining so submitters never block
+            }
+            try {
+                if (logWriter != null) {
+                    write(job, logWriter);
+                    logWriter.flush();
+                } else {
+                    writeFile(job);
+                }
+            } catch (IOException e) {
+                failure = e;
+            }
+        }
+    }
+
+    private void writeFile(Job job) throws IOException {
+        GameTrace trace = job.trace();
+        String name = job.fileName();
+        try (Writer out = new BufferedWriter(new OutputStreamWriter(
+                new GZIPOutputStream(Files.newOutputStream(dir.resolve(name)), 1 << 16), StandardCharsets.UTF_8))) {
+            write(job, out);
+        }
+        TreeSet<String> checks = new TreeSet<>();
+        job.violations().forEach(v -> checks.add(v.checkName()));
+        int decisions = trace.playerDecisions().values().stream().mapToInt(List::size).sum();
+        index.write((job.replayOf() != null ? job.label() : Integer.toString(trace.gameIndex()))
+                + "\t" + (passed(trace, job.violations()) ? "passed" : "failed")
+                + "\t" + job.violations().size() + "\t" + (checks.isEmpty() ? "-" : String.join(",", checks))
+                + "\t" + trace.observerEvents().size() + "\t" + decisions + "\t" + name + "\n");
+    }
+
+    private static void write(Job job, Writer out) throws IOException {
+        GameTrace trace = job.trace();
+        out.write("--- Verbose trace for " + job.label() + " ---\n");
+        List<DecisionLine> decisions = new ArrayList<>();
+        trace.playerDecisions().forEach((player, records) -> {
+            for (DecisionRecord record : records) {
+                decisions.add(new DecisionLine(player, record));
+            }
+        });
+        // Stable, so each player's decisions keep their order; those not placed in the
+        // event stream (eventIndex -1) come first
+        decisions.sort((a, b) -> Integer.compare(a.record().eventIndex(), b.record().eventIndex()));
+        int next = 0;
+        List<ObservedEvent> events = trace.observerEvents();
+        for (int e = 0; e <= events.size(); e++) {
+            while (next < decisions.size() && decisions.get(next).record().eventIndex() <= e) {
+                decisions.get(next++).write(out);
+            }
+            if (e < events.size()) {
+                ObservedEvent oe = events.get(e);
+                out.write("  EVENT: " + (oe.event() == null ? "null" : oe.event().getDescription()) + "\n");
+            }
+        }
+        if (trace.result() != null) {
+            StringJoiner scores = new StringJoiner(", ");
+            for (PlayerResult pr : trace.result().playerResults()) {
+                scores.add(pr.playerName() + "=" + pr.score());
+            }
+            out.write("  RESULT: " + scores + "\n");
+        }
+        if (trace.exception() != null) {
+            out.write("  ERROR: " + trace.exception() + "\n");
+        }
+        for (Violation v : job.violations()) {
+            out.write("  VIOLATION: " + v.toString().replace("\n", "\n    ") + "\n");
+        }
+        out.write("---\n");
+    }
+
+    private record DecisionLine(String player, DecisionRecord record) {
+        void write(Writer out) throws IOException {
+            StringJoiner options = new StringJoiner(", ", "[", "]");
+            for (Decision option : record.options()) {
+                options.add(TraceSteps.decision(option));
+            }
+            out.write("  DECISION " + player + " (" + record.state().phase() + "): "
+                    + TraceSteps.decision(record.chosen()) + " from " + options + "\n");
+        }
+    }
+
+    private static boolean passed(GameTrace trace, List<Violation> violations) {
+        return violations.isEmpty() && trace.completedSuccessfully();
+    }
+}
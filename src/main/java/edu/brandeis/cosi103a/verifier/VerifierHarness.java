@@ -2,110 +2,457 @@ package edu.brandeis.cosi103a.verifier;
 
 import edu.brandeis.cosi.atg.cards.Card;
 import edu.brandeis.cosi.atg.engine.Engine;
-import edu.brandeis.cosi.atg.engine.PlayerViolationException;
 import edu.brandeis.cosi.atg.player.Player;
 import edu.brandeis.cosi.atg.state.GameResult;
+import edu.brandeis.cosi103a.verifier.jfr.GameEvent;
+import edu.brandeis.cosi103a.verifier.jfr.VerifierRecording;
 import edu.brandeis.cosi103a.verifier.strategies.*;
+import jdk.jfr.Recording;
 
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.text.ParseException;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 /**
  * Main entry point for the engine verifier. Runs a set of games with instrumented
  * players, captures events and decisions, and verifies game rule invariants.
  */
 public class VerifierHarness {
+    /** Number of player setups in {@link #createPlayers}, chosen by game index unless adaptive. */
+    static final int SETUPS = 5;
+    private static final String[] SETUP_NAMES = {
+            "BigMoney x2", "ActionHeavy x2", "BigMoney+ActionHeavy+Passive", "Random x4", "Passive x2"};
+    private static final int[] SETUP_PLAYERS = {2, 2, 3, 4, 2};
 
     private final EngineLoader loader;
+    private final VerifierOptions options;
     private final int numGames;
     private final boolean verbose;
-    private final Random random;
+    private final int[] gameIndices;
+    private final boolean runsViolationTest;
+    private final KingdomPlan kingdoms;
+    private final List<GameListener> listeners = new ArrayList<>();
+    private LongAdder decisionCounter;
+    private LatencyHistogram decisionLatency;
+    private final EngineProfile engineProfile;
+    private SetupScheduler setupScheduler;
+    private AdversarialSuite adversarialSuite;
+    private final ViolationCorpus corpus;
+    private final List<ViolationCorpus.Entry> corpusGames;
+    private long gameLoopNanos;
 
     public VerifierHarness(EngineLoader loader, int numGames, boolean verbose) {
+        this(loader, new VerifierOptions().numGames(numGames).verbose(verbose));
+    }
+
+    public VerifierHarness(EngineLoader loader, VerifierOptions options) {
         this.loader = loader;
-        this.numGames = numGames;
-        this.verbose = verbose;
-        this.random = new Random(42);
+        this.options = options;
+        this.numGames = options.numGames();
+        this.verbose = options.verbose();
+        ShardSpec shard = options.shard();
+        this.gameIndices = shard == null
+                ? IntStream.range(0, numGames).toArray()
+                : shard.gameIndices(options.seed(), numGames);
+        this.runsViolationTest = shard == null || shard.runsViolationTest();
+        if (options.adaptive() && shard != null) {
+            // A shard cannot see the other shards' results to adapt to
+            throw new IllegalArgumentException("--adaptive cannot be combined with --shard");
+        }
+        this.kingdoms = new KingdomPlan(options.seed(), SETUPS);
+        this.engineProfile = options.engineProfile() != null ? new EngineProfile() : null;
+        try {
+            this.corpus = options.corpusFile() != null ? ViolationCorpus.read(options.corpusFile()) : null;
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Could not read corpus: " + e.getMessage(), e);
+        }
+        // Replayed once per run, alongside the adversarial games
+        this.corpusGames = corpus != null && runsViolationTest ? corpus.games() : List.of();
+    }
+
+    public void addListener(GameListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Engine time of the games played so far, or null unless the options ask for it.
+     */
+    public EngineProfile engineProfile() {
+        return engineProfile;
+    }
+
+    /**
+     * The adversarial games of the last run and their outcomes, or null if this run
+     * (or shard) did not play them.
+     */
+    public AdversarialSuite adversarialSuite() {
+        return adversarialSuite;
+    }
+
+    /**
+     * Wall time the last run spent playing and checking its normal games. Adversarial
+     * games, corpus replays and the determinism check are not included.
+     */
+    long gameLoopNanos() {
+        return gameLoopNanos;
+    }
+
+    /**
+     * Number of normal games this run (or shard) plays.
+     */
+    int normalGames() {
+        return gameIndices.length;
+    }
+
+    /**
+     * Records every game's decision latency into the given histogram from now on.
+     */
+    void measureDecisionLatency(LatencyHistogram histogram) {
+        this.decisionLatency = histogram;
     }
 
     /**
      * Run all verification games and return the result.
      */
     public VerificationResult verify() {
+        if (options.jfrFile() == null) {
+            return runGames();
+        }
+        try (Recording recording = VerifierRecording.start(options.jfrFile())) {
+            VerificationResult result = runGames();
+            recording.stop(); // writes the destination file
+            return result;
+        } catch (IOException | ParseException e) {
+            throw new IllegalStateException("Could not record to " + options.jfrFile(), e);
+        }
+    }
+
+    private VerificationResult runGames() {
+        if (options.progressInterval() == null) {
+            return runAllGames();
+        }
+        ProgressReporter progress = new ProgressReporter(gamesPlayed(), options.log(), options.progressInterval());
+        decisionCounter = progress.decisionCounter();
+        listeners.add(progress);
+        progress.start();
+        try {
+            return runAllGames();
+        } finally {
+            progress.stop();
+            listeners.remove(progress);
+            decisionCounter = null;
+        }
+    }
+
+    private VerificationResult runAllGames() {
+        if (!verbose && options.verboseDir() == null) {
+            return runAllGames(null);
+        }
+        try (VerboseTraceWriter traces = new VerboseTraceWriter(options.verboseDir(), options.verboseFailedOnly(),
+                options.log())) {
+            return runAllGames(traces);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not write verbose traces", e);
+        }
+    }
+
+    private VerificationResult runAllGames(VerboseTraceWriter traces) {
         List<Violation> allViolations = new ArrayList<>();
         int passed = 0;
+        OptionCoverage coverage = null;
+        if (options.adaptive()) {
+            setupScheduler = new SetupScheduler(SETUP_NAMES, SETUP_PLAYERS);
+            coverage = new OptionCoverage();
+        }
+
+        // Games that found violations in earlier runs, all at once, before the others
+        if (!corpusGames.isEmpty()) {
+            passed += replayCorpus(allViolations, traces);
+        }
 
         // Normal games
-        for (int i = 0; i < numGames; i++) {
-            List<VerifierPlayer> players = createPlayers(i);
-            List<Card.Type> actionTypes = selectActionTypes();
-            GameTrace trace = runGame(i, players, actionTypes);
-            List<Violation> violations = InvariantChecker.check(trace);
+        long loopStart = System.nanoTime();
+        for (int i : gameIndices) {
+            long seed = gameSeed(options.seed(), i);
+            int setup = setupScheduler != null ? setupScheduler.next() : i % SETUPS;
+            List<VerifierPlayer> players = createPlayers(setup, new Random(seed));
+            List<Card.Type> actionTypes = kingdoms.kingdomFor(i);
+            CheckedGame game = playAndCheck(i, seed, players, actionTypes, true);
+            GameTrace trace = game.trace();
+            List<Violation> violations = game.violations();
             allViolations.addAll(violations);
+            recordFindings(new ViolationCorpus.Entry("", options.seed(), i, setup, actionTypes), violations);
+            if (setupScheduler != null) {
+                int distinctChecks = (int) violations.stream().map(Violation::checkName).distinct().count();
+                setupScheduler.record(setup, distinctChecks, violations.size(), coverage.add(trace));
+            }
             if (violations.isEmpty() && trace.completedSuccessfully()) {
                 passed++;
             }
-            if (verbose && !violations.isEmpty()) {
-                printVerboseTrace(trace);
+            if (traces != null) {
+                traces.submit(trace, violations);
             }
+            fireGameFinished(i, violations);
+        }
+        gameLoopNanos = System.nanoTime() - loopStart;
+
+        if (setupScheduler != null) {
+            setupScheduler.printSummary(options.log());
         }
 
-        // Violation test
-        Violation violationResult = runViolationTest(numGames);
-        if (violationResult != null) {
-            allViolations.add(violationResult);
-        } else {
-            passed++;
+        // Adversarial games and cross-game checks, once per run
+        if (!runsViolationTest) {
+            saveCorpus();
+            return new VerificationResult(gamesPlayed(), passed, allViolations);
+        }
+        adversarialSuite = new AdversarialSuite(loader, kingdoms, numGames, options.terminationLimits(),
+                options.cheatDeadline());
+        adversarialSuite.run();
+        for (GameListener listener : listeners) {
+            listener.adversarialFinished(adversarialSuite);
+        }
+        List<Violation> cheatViolations = adversarialSuite.violations();
+        allViolations.addAll(cheatViolations);
+        for (int k = 0; k < AdversarialSuite.CASES.size(); k++) {
+            int gameIndex = numGames + k;
+            List<Violation> caseViolations = cheatViolations.stream()
+                    .filter(v -> v.gameIndex() == gameIndex)
+                    .toList();
+            if (caseViolations.isEmpty()) {
+                passed++;
+            }
+            fireGameFinished(gameIndex, caseViolations);
         }
+        allViolations.addAll(checkDeterminism());
 
-        return new VerificationResult(numGames + 1, passed, allViolations);
+        saveCorpus();
+        return new VerificationResult(gamesPlayed(), passed, allViolations);
     }
 
-    private GameTrace runGame(int gameIndex, List<VerifierPlayer> players, List<Card.Type> actionTypes) {
-        ObserverRecorder recorder = new ObserverRecorder();
+    /**
+     * Games this run (or shard) plays: its normal games, plus the adversarial games and
+     * corpus replays if it is the one that plays those.
+     */
+    private int gamesPlayed() {
+        return gameIndices.length + (runsViolationTest ? AdversarialSuite.CASES.size() : 0) + corpusGames.size();
+    }
+
+    /**
+     * Replays the corpus games in parallel, adding their violations to the given list,
+     * and returns how many passed. A replay keeps the index of the game it replays, and
+     * its violations name that game's seed, so reports do not depend on this run's
+     * game count.
+     */
+    private int replayCorpus(List<Violation> allViolations, VerboseTraceWriter traces) {
+        ExecutorService executor = Executors.newFixedThreadPool(
+                Math.min(corpusGames.size(), Runtime.getRuntime().availableProcessors()));
         try {
-            List<Player> playerList = new ArrayList<>(players);
-            Engine engine = loader.create(playerList, actionTypes);
-            engine.setObserver(recorder);
-            GameResult result = engine.play();
+            List<Future<CheckedGame>> futures = new ArrayList<>();
+            for (int k = 0; k < corpusGames.size(); k++) {
+                ViolationCorpus.Entry entry = corpusGames.get(k);
+                long seed = gameSeed(entry.runSeed(), entry.gameIndex());
+                futures.add(executor.submit(() -> playAndCheck(entry.gameIndex(), seed,
+                        createPlayers(entry.setup(), new Random(seed)), entry.kingdom(), false)));
+            }
+            int passed = 0;
+            for (int k = 0; k < corpusGames.size(); k++) {
+                ViolationCorpus.Entry entry = corpusGames.get(k);
+                CheckedGame game = futures.get(k).get();
+                String replayOf = "seed " + entry.runSeed() + " game " + entry.gameIndex();
+                List<Violation> violations = game.violations().stream().map(v -> v.inReplayOf(replayOf)).toList();
+                options.log().println("Replay of " + replayOf + " (found "
+                        + String.join(", ", corpus.checksFoundBy(entry)) + "): "
+                        + (violations.isEmpty() ? "passed" : violations.size() + " violation(s)"));
+                allViolations.addAll(violations);
+                if (violations.isEmpty() && game.trace().completedSuccessfully()) {
+                    passed++;
+                }
+                if (traces != null) {
+                    traces.submit(game.trace(), violations, replayOf);
+                }
+                fireReplayFinished(replayOf, violations);
+            }
+            // Updated only now, so the labels above show what each game was kept for
+            for (int k = 0; k < corpusGames.size(); k++) {
+                forgetFixed(corpusGames.get(k), futures.get(k).get());
+            }
+            return passed;
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Corpus game failed to run", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while replaying the corpus", e);
+        } finally {
+            executor.shutdown();
+        }
+    }
 
-            Map<String, List<DecisionRecord>> decisions = new LinkedHashMap<>();
-            for (VerifierPlayer vp : players) {
-                decisions.put(vp.getName(), vp.getDecisionLog());
+    /**
+     * Adds the game to the corpus under each check it violated.
+     */
+    private void recordFindings(ViolationCorpus.Entry game, List<Violation> violations) {
+        if (corpus == null) return;
+        violations.stream().map(Violation::checkName).distinct().forEach(check -> corpus.add(
+                new ViolationCorpus.Entry(check, game.runSeed(), game.gameIndex(), game.setup(), game.kingdom())));
+    }
+
+    /**
+     * Drops a replayed game from the checks it was kept for but no longer violates.
+     * Games that did not complete, and checks this run skips, tell nothing either way.
+     */
+    private void forgetFixed(ViolationCorpus.Entry game, CheckedGame replay) {
+        if (!replay.trace().completedSuccessfully()) return;
+        Set<String> found = replay.violations().stream().map(Violation::checkName).collect(Collectors.toSet());
+        Set<String> skipped = Arrays.stream(Invariant.values())
+                .filter(invariant -> !options.enabledChecks().contains(invariant))
+                .map(Invariant::displayName)
+                .collect(Collectors.toSet());
+        for (String check : corpus.checksFoundBy(game)) {
+            if (!found.contains(check) && !skipped.contains(check)) {
+                corpus.remove(new ViolationCorpus.Entry(check, game.runSeed(), game.gameIndex(), game.setup(),
+                        game.kingdom()));
             }
-            return new GameTrace(gameIndex, players.size(), recorder.getEvents(), decisions, result, null);
-        } catch (Exception e) {
-            Map<String, List<DecisionRecord>> decisions = new LinkedHashMap<>();
-            for (VerifierPlayer vp : players) {
-                decisions.put(vp.getName(), vp.getDecisionLog());
+        }
+    }
+
+    private void saveCorpus() {
+        if (corpus == null) return;
+        try {
+            corpus.write(options.corpusFile());
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not write corpus " + options.corpusFile(), e);
+        }
+    }
+
+    /**
+     * Replays the run's first games twice each and reports those that came out differently.
+     */
+    private List<Violation> checkDeterminism() {
+        List<Violation> violations = new ArrayList<>();
+        DeterminismCheck check = new DeterminismCheck(loader, options.seed(), options.terminationLimits());
+        for (int i = 0; i < Math.min(options.determinismGames(), numGames); i++) {
+            Violation violation = check.check(i);
+            if (violation != null) {
+                violations.add(violation);
             }
-            return new GameTrace(gameIndex, players.size(), recorder.getEvents(), decisions, null, e);
         }
+        return violations;
     }
 
-    private Violation runViolationTest(int gameIndex) {
-        ObserverRecorder recorder = new ObserverRecorder();
-        CheatingPlayer cheater = new CheatingPlayer("Cheater");
-        VerifierPlayer honest = new VerifierPlayer("Honest", new BigMoneyStrategy());
+    /**
+     * Seed for one game's setup, derived from the run seed so any game can be
+     * reproduced on its own (e.g. by one shard of a split run).
+     */
+    static long gameSeed(long runSeed, int gameIndex) {
+        long z = runSeed * 0x9e3779b97f4a7c15L + gameIndex;
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * A played game plus the checks already settled for it (run while it played, or
+     * disabled and so reported empty), and the guard that may have stopped it.
+     */
+    private record PlayedGame(GameTrace trace, Map<Invariant, List<Violation>> skippedOrDone,
+                              TerminationGuard guard) {
+    }
+
+    /**
+     * A checked game: its trace and every violation found in it.
+     */
+    private record CheckedGame(GameTrace trace, List<Violation> violations) {
+    }
+
+    /**
+     * Plays and checks one game. Only measured games feed the run's latency histogram
+     * and engine profile, which corpus replays running in parallel must not touch.
+     *
+     * @param seed the seed the players were created from, which a replay takes from
+     *             the run that found the game
+     */
+    private CheckedGame playAndCheck(int gameIndex, long seed, List<VerifierPlayer> players,
+                                     List<Card.Type> actionTypes, boolean measured) {
+        PlayedGame game = runGame(gameIndex, seed, players, actionTypes, measured);
+        GameTrace trace = game.trace();
+        List<Violation> violations = new ArrayList<>(InvariantChecker.check(trace, game.skippedOrDone()));
+        if (game.guard().tripped()) {
+            violations.add(game.guard().violation(gameIndex, trace.turns().turnCount() - 1));
+        }
+        return new CheckedGame(trace, violations);
+    }
+
+    private PlayedGame runGame(int gameIndex, long seed, List<VerifierPlayer> players,
+                               List<Card.Type> actionTypes, boolean measured) {
+        ObserverRecorder recorder = options.leanRecording()
+                ? new LeanRecorder(gameIndex, options.enabledChecks())
+                : new ObserverRecorder();
+        TerminationGuard guard = new TerminationGuard(options.terminationLimits());
+        DecisionTimer timer = measured && decisionLatency != null ? new DecisionTimer(decisionLatency) : null;
+        EngineTimer engineTimer = measured && engineProfile != null ? new EngineTimer() : null;
+        recorder.timeCallbacksWith(engineTimer);
+        for (VerifierPlayer vp : players) {
+            vp.recordTo(recorder);
+            vp.setGuard(guard);
+            vp.countDecisionsIn(decisionCounter);
+            vp.timeDecisionsWith(timer);
+            vp.timeEngineWith(engineTimer);
+        }
+        GameResult result = null;
+        Exception exception = null;
+        GameEvent jfrEvent = new GameEvent();
+        jfrEvent.begin();
         try {
-            List<Player> players = List.of(cheater, honest);
-            Engine engine = loader.create(players, selectActionTypes());
+            List<Player> playerList = new ArrayList<>(players);
+            Engine engine = loader.create(playerList, actionTypes);
             engine.setObserver(recorder);
-            engine.play();
-            // If we get here, the engine did NOT throw
-            return new Violation("PlayerViolationException",
-                    "Engine did not throw PlayerViolationException for invalid decision",
-                    gameIndex);
-        } catch (PlayerViolationException e) {
-            return null; // expected
+            if (engineTimer != null) {
+                engineTimer.gameStarted();
+            }
+            result = engine.play();
         } catch (Exception e) {
-            return null; // other exceptions are acceptable too
+            exception = e;
+        }
+        if (engineTimer != null) {
+            engineTimer.gameFinished();
+            engineProfile.add(engineTimer);
+        }
+        jfrEvent.end();
+        if (jfrEvent.shouldCommit()) {
+            jfrEvent.gameIndex = gameIndex;
+            jfrEvent.seed = seed;
+            jfrEvent.players = players.stream().map(VerifierPlayer::getName).collect(Collectors.joining(","));
+            jfrEvent.kingdom = actionTypes.toString();
+            jfrEvent.completed = result != null;
+            jfrEvent.commit();
         }
+        Map<Invariant, List<Violation>> settled = new EnumMap<>(Invariant.class);
+        settled.putAll(recorder.finish());
+        for (Invariant invariant : Invariant.values()) {
+            if (!options.enabledChecks().contains(invariant)) {
+                settled.put(invariant, List.of());
+            }
+        }
+        GameTrace trace = new GameTrace(gameIndex, players.size(), recorder.getEvents(),
+                recorder.getDecisions(), result, exception);
+        return new PlayedGame(trace, settled, guard);
     }
 
-    private List<VerifierPlayer> createPlayers(int gameIndex) {
-        int config = gameIndex % 5;
-        return switch (config) {
+    /**
+     * The players of one setup (0 to {@link #SETUPS} - 1); random strategies are seeded
+     * from the game's random.
+     */
+    static List<VerifierPlayer> createPlayers(int setup, Random random) {
+        return switch (setup) {
             case 0 -> List.of(
                     new VerifierPlayer("BigMoney-1", new BigMoneyStrategy()),
                     new VerifierPlayer("BigMoney-2", new BigMoneyStrategy()));
@@ -128,41 +475,108 @@ public class VerifierHarness {
         };
     }
 
-    /**
-     * Randomly select 10 of the 15 action card types.
-     */
-    private List<Card.Type> selectActionTypes() {
-        List<Card.Type> allActions = Arrays.stream(Card.Type.values())
-                .filter(t -> t.category() == Card.Type.Category.ACTION)
-                .collect(Collectors.toCollection(ArrayList::new));
-        Collections.shuffle(allActions, random);
-        return allActions.subList(0, 10);
+    private void fireGameFinished(int gameIndex, List<Violation> violations) {
+        for (GameListener listener : listeners) {
+            listener.gameFinished(gameIndex, violations);
+        }
     }
 
-    private void printVerboseTrace(GameTrace trace) {
-        System.err.println("--- Verbose trace for Game " + trace.gameIndex() + " ---");
-        for (ObservedEvent oe : trace.observerEvents()) {
-            System.err.println("  EVENT: " + oe.event().getDescription());
+    private void fireReplayFinished(String replayOf, List<Violation> violations) {
+        for (GameListener listener : listeners) {
+            listener.replayFinished(replayOf, violations);
         }
-        System.err.println("---");
     }
 
     // --- CLI ---
 
     public static void main(String[] args) throws Exception {
+        if (args.length > 0 && args[0].equals("--merge")) {
+            System.exit(merge(Arrays.copyOfRange(args, 1, args.length)));
+        }
         if (args.length < 2) {
-            System.err.println("Usage: VerifierHarness <jar-path> <engine-class-fqn> [numGames] [--verbose]");
+            System.err.println("Usage: VerifierHarness <jar-path> <engine-class-fqn> [numGames] [--verbose]"
+                    + " [--max-decisions N] [--max-turns N] [--cycle-turns N] [--jfr FILE] [--progress]"
+                    + " [--seed N] [--shard i/n] [--shard-out FILE] [--checks LIST] [--lean]"
+                    + " [--determinism N] [--baseline-out FILE] [--gate FILE] [--gate-threshold PCT] [--trials N]"
+                    + " [--profile-engine FILE] [--adaptive]"
+                    + " [--cheat-deadline SECONDS] [--verbose-dir DIR] [--verbose-failed-only] [--corpus FILE]");
+            System.err.println("       VerifierHarness --merge <shard-file>...");
             System.exit(1);
         }
         String jarPath = args[0];
         String className = args[1];
-        int numGames = args.length > 2 && !args[2].startsWith("-") ? Integer.parseInt(args[2]) : 10;
-        boolean verbose = Arrays.asList(args).contains("--verbose");
+        VerifierOptions options;
+        try {
+            options = VerifierOptions.fromArgs(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println("Error: " + e.getMessage());
+            System.exit(2);
+            return;
+        }
+
+        int exitCode;
+        try (EngineLoader loader = new EngineLoader(jarPath, className)) {
+            exitCode = runJob(loader, className, options, System.out, null);
+        } catch (IllegalArgumentException e) {
+            System.err.println("Error: " + e.getMessage());
+            exitCode = 2;
+        }
+        System.exit(exitCode);
+    }
 
-        EngineLoader loader = new EngineLoader(jarPath, className);
-        VerifierHarness harness = new VerifierHarness(loader, numGames, verbose);
+    /**
+     * Runs one job with parsed options and returns its exit code: the throughput gate
+     * when a gate or baseline file is given, otherwise a run followed by its shard
+     * result file, report, adversarial scorecard and engine profile. Both the command
+     * line and {@link VerifierServer} go through here, so a job produces the same
+     * output, files and exit code either way.
+     *
+     * @param listener notified of each finished game, including the gate's trials, or null
+     */
+    static int runJob(EngineLoader loader, String className, VerifierOptions options, PrintStream out,
+                      GameListener listener) throws IOException {
+        if (options.gateFile() != null || options.baselineOut() != null) {
+            ThroughputGate gate = new ThroughputGate(loader, className, options);
+            if (listener != null) {
+                gate.addListener(listener);
+            }
+            return gate.run(out);
+        }
+        VerifierHarness harness = new VerifierHarness(loader, options);
+        if (listener != null) {
+            harness.addListener(listener);
+        }
         VerificationResult result = harness.verify();
-        System.out.println(result.formatReport(className));
-        System.exit(result.isCompliant() ? 0 : 1);
+        if (options.shardOut() != null) {
+            ShardSpec shard = options.shard() != null ? options.shard() : new ShardSpec(0, 1);
+            new ShardResult(className, options.seed(), options.numGames(), shard, result).write(options.shardOut());
+        }
+        out.println(result.formatReport(className));
+        if (harness.adversarialSuite() != null) {
+            harness.adversarialSuite().printScorecard(out);
+        }
+        if (harness.engineProfile() != null) {
+            harness.engineProfile().printTables(out);
+            harness.engineProfile().writeCollapsed(options.engineProfile());
+        }
+        return result.isCompliant() ? 0 : 1;
+    }
+
+    /**
+     * Combines shard result files into one report; returns the exit code.
+     */
+    private static int merge(String[] files) {
+        try {
+            List<ShardResult> shards = new ArrayList<>();
+            for (String file : files) {
+                shards.add(ShardResult.read(Path.of(file)));
+            }
+            VerificationResult result = ShardResult.merge(shards);
+            System.out.println(result.formatReport(shards.get(0).engineClass()));
+            return result.isCompliant() ? 0 : 1;
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Error: " + e.getMessage());
+            return 2;
+        }
     }
 }
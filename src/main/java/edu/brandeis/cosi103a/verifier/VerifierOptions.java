@@ -0,0 +1,405 @@
+package edu.brandeis.cosi103a.verifier;
+
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Run options for a {@link VerifierHarness}, parsed from the command line after
+ * the jar path and engine class name.
+ */
+public class VerifierOptions {
+    private int numGames = 10;
+    private boolean verbose;
+    private TerminationGuard.Limits terminationLimits = TerminationGuard.Limits.defaults();
+    private Path jfrFile;
+    private Duration progressInterval;
+    private long seed = 42;
+    private ShardSpec shard;
+    private Path shardOut;
+    private Set<Invariant> enabledChecks = EnumSet.allOf(Invariant.class);
+    private boolean leanRecording;
+    private int determinismGames;
+    private Path baselineOut;
+    private Path gateFile;
+    private double gateThreshold = 10;
+    private int trials = 3;
+    private Path engineProfile;
+    private boolean adaptive;
+    private Duration cheatDeadline = Duration.ofSeconds(30);
+    private Path verboseDir;
+    private boolean verboseFailedOnly;
+    private Path corpusFile;
+    private PrintStream log = System.err;
+
+    /**
+     * Parses {@code [numGames] [--verbose] [--max-decisions N] [--max-turns N] [--cycle-turns N]
+     * [--jfr FILE] [--progress] [--seed N] [--shard i/n] [--shard-out FILE] [--checks LIST]
+     * [--lean] [--determinism N] [--baseline-out FILE] [--gate FILE] [--gate-threshold PCT]
+     * [--trials N] [--profile-engine FILE] [--adaptive]
+     * [--cheat-deadline SECONDS] [--verbose-dir DIR] [--verbose-failed-only]
+     * [--corpus FILE]} from args[2] onward.
+     *
+     * @throws IllegalArgumentException for an unknown option, a missing value or a
+     *                                  malformed number
+     */
+    public static VerifierOptions fromArgs(String[] args) {
+        VerifierOptions options = new VerifierOptions();
+        int first = 2;
+        if (args.length > 2 && !args[2].startsWith("-")) {
+            options.numGames(Integer.parseInt(args[2]));
+            first = 3;
+        }
+        for (int i = first; i < args.length; i++) {
+            switch (args[i]) {
+                case "--verbose" -> options.verbose(true);
+                case "--max-decisions" -> {
+                    var limits = options.terminationLimits();
+                    options.terminationLimits(new TerminationGuard.Limits(
+                            Integer.parseInt(value(args, ++i)), limits.maxTurns(), limits.cycleTurns()));
+                }
+                case "--max-turns" -> {
+                    var limits = options.terminationLimits();
+                    options.terminationLimits(new TerminationGuard.Limits(
+                            limits.maxDecisions(), Integer.parseInt(value(args, ++i)), limits.cycleTurns()));
+                }
+                case "--cycle-turns" -> {
+                    var limits = options.terminationLimits();
+                    options.terminationLimits(new TerminationGuard.Limits(
+                            limits.maxDecisions(), limits.maxTurns(), Integer.parseInt(value(args, ++i))));
+                }
+                case "--jfr" -> options.jfrFile(Path.of(value(args, ++i)));
+                case "--progress" -> options.progressInterval(Duration.ofSeconds(5));
+                case "--seed" -> options.seed(Long.parseLong(value(args, ++i)));
+                case "--shard" -> options.shard(ShardSpec.parse(value(args, ++i)));
+                case "--shard-out" -> options.shardOut(Path.of(value(args, ++i)));
+                case "--checks" -> options.enabledChecks(Arrays.stream(value(args, ++i).split(","))
+                        .map(Invariant::parse)
+                        .collect(Collectors.toCollection(() -> EnumSet.noneOf(Invariant.class))));
+                case "--lean" -> options.leanRecording(true);
+                case "--determinism" -> options.determinismGames(Integer.parseInt(value(args, ++i)));
+                case "--baseline-out" -> options.baselineOut(Path.of(value(args, ++i)));
+                case "--gate" -> options.gateFile(Path.of(value(args, ++i)));
+                case "--gate-threshold" -> options.gateThreshold(Double.parseDouble(value(args, ++i)));
+                case "--trials" -> options.trials(Integer.parseInt(value(args, ++i)));
+                case "--profile-engine" -> options.engineProfile(Path.of(value(args, ++i)));
+                case "--adaptive" -> options.adaptive(true);
+                case "--verbose-dir" -> options.verboseDir(Path.of(value(args, ++i)));
+                case "--verbose-failed-only" -> options.verboseFailedOnly(true);
+                case "--corpus" -> options.corpusFile(Path.of(value(args, ++i)));
+                case "--cheat-deadline" -> options.cheatDeadline(Duration.ofSeconds(Long.parseLong(value(args, ++i))));
+                default -> throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+        return options;
+    }
+
+    /**
+     * An independent copy, for a caller that needs to change options it was handed.
+     */
+    public VerifierOptions copy() {
+        VerifierOptions copy = new VerifierOptions();
+        copy.numGames = numGames;
+        copy.verbose = verbose;
+        copy.terminationLimits = terminationLimits;
+        copy.jfrFile = jfrFile;
+        copy.progressInterval = progressInterval;
+        copy.seed = seed;
+        copy.shard = shard;
+        copy.shardOut = shardOut;
+        copy.enabledChecks = EnumSet.noneOf(Invariant.class);
+        copy.enabledChecks.addAll(enabledChecks);
+        copy.leanRecording = leanRecording;
+        copy.determinismGames = determinismGames;
+        copy.baselineOut = baselineOut;
+        copy.gateFile = gateFile;
+        copy.gateThreshold = gateThreshold;
+        copy.trials = trials;
+        copy.engineProfile = engineProfile;
+        copy.adaptive = adaptive;
+        copy.cheatDeadline = cheatDeadline;
+        copy.verboseDir = verboseDir;
+        copy.verboseFailedOnly = verboseFailedOnly;
+        copy.corpusFile = corpusFile;
+        copy.log = log;
+        return copy;
+    }
+
+    private static String value(String[] args, int i) {
+        if (i >= args.length) {
+            throw new IllegalArgumentException(args[i - 1] + " requires a value");
+        }
+        return args[i];
+    }
+
+    public int numGames() {
+        return numGames;
+    }
+
+    public VerifierOptions numGames(int numGames) {
+        this.numGames = numGames;
+        return this;
+    }
+
+    public boolean verbose() {
+        return verbose;
+    }
+
+    public VerifierOptions verbose(boolean verbose) {
+        this.verbose = verbose;
+        return this;
+    }
+
+    /**
+     * Budgets after which a game is stopped and reported as non-terminating.
+     */
+    public TerminationGuard.Limits terminationLimits() {
+        return terminationLimits;
+    }
+
+    public VerifierOptions terminationLimits(TerminationGuard.Limits terminationLimits) {
+        this.terminationLimits = terminationLimits;
+        return this;
+    }
+
+    /**
+     * Where to write a flight recording of the run, or null to not record.
+     */
+    public Path jfrFile() {
+        return jfrFile;
+    }
+
+    public VerifierOptions jfrFile(Path jfrFile) {
+        this.jfrFile = jfrFile;
+        return this;
+    }
+
+    /**
+     * How often to print progress while the run is going, or null to stay quiet.
+     */
+    public Duration progressInterval() {
+        return progressInterval;
+    }
+
+    public VerifierOptions progressInterval(Duration progressInterval) {
+        this.progressInterval = progressInterval;
+        return this;
+    }
+
+    /**
+     * Run seed; every game's setup and kingdom are derived from it and the game index.
+     */
+    public long seed() {
+        return seed;
+    }
+
+    public VerifierOptions seed(long seed) {
+        this.seed = seed;
+        return this;
+    }
+
+    /**
+     * The slice of games to run, or null to run them all.
+     */
+    public ShardSpec shard() {
+        return shard;
+    }
+
+    public VerifierOptions shard(ShardSpec shard) {
+        this.shard = shard;
+        return this;
+    }
+
+    /**
+     * Where to write this run's {@link ShardResult} for a later merge, or null.
+     */
+    public Path shardOut() {
+        return shardOut;
+    }
+
+    public VerifierOptions shardOut(Path shardOut) {
+        this.shardOut = shardOut;
+        return this;
+    }
+
+    /**
+     * The invariants to check and report; the others are skipped.
+     */
+    public Set<Invariant> enabledChecks() {
+        return enabledChecks;
+    }
+
+    public VerifierOptions enabledChecks(Set<Invariant> enabledChecks) {
+        this.enabledChecks = enabledChecks;
+        return this;
+    }
+
+    /**
+     * Whether games are recorded with a {@link LeanRecorder}, keeping only what the
+     * enabled checks need instead of every snapshot.
+     */
+    public boolean leanRecording() {
+        return leanRecording;
+    }
+
+    public VerifierOptions leanRecording(boolean leanRecording) {
+        this.leanRecording = leanRecording;
+        return this;
+    }
+
+    /**
+     * How many of the run's first games to replay twice in parallel to check the
+     * engine is deterministic; 0 to skip the check.
+     */
+    public int determinismGames() {
+        return determinismGames;
+    }
+
+    public VerifierOptions determinismGames(int determinismGames) {
+        this.determinismGames = determinismGames;
+        return this;
+    }
+
+    /**
+     * Where to write the run's measured {@link ThroughputBaseline}, or null.
+     */
+    public Path baselineOut() {
+        return baselineOut;
+    }
+
+    public VerifierOptions baselineOut(Path baselineOut) {
+        this.baselineOut = baselineOut;
+        return this;
+    }
+
+    /**
+     * Baseline to gate the run's throughput against, or null to not gate.
+     */
+    public Path gateFile() {
+        return gateFile;
+    }
+
+    public VerifierOptions gateFile(Path gateFile) {
+        this.gateFile = gateFile;
+        return this;
+    }
+
+    /**
+     * How much worse than the baseline, in percent, a gated metric may be.
+     */
+    public double gateThreshold() {
+        return gateThreshold;
+    }
+
+    public VerifierOptions gateThreshold(double gateThreshold) {
+        this.gateThreshold = gateThreshold;
+        return this;
+    }
+
+    /**
+     * How many times a throughput measurement plays the seed plan.
+     */
+    public int trials() {
+        return trials;
+    }
+
+    public VerifierOptions trials(int trials) {
+        this.trials = trials;
+        return this;
+    }
+
+    /**
+     * Where to write the run's engine time by phase and callback as collapsed stacks,
+     * or null to not profile.
+     */
+    public Path engineProfile() {
+        return engineProfile;
+    }
+
+    public VerifierOptions engineProfile(Path engineProfile) {
+        this.engineProfile = engineProfile;
+        return this;
+    }
+
+    /**
+     * Whether each game's player setup is chosen by a {@link SetupScheduler} from how
+     * many violations the setups have found so far, instead of by game index.
+     */
+    public boolean adaptive() {
+        return adaptive;
+    }
+
+    public VerifierOptions adaptive(boolean adaptive) {
+        this.adaptive = adaptive;
+        return this;
+    }
+
+    /**
+     * How long each game of the {@link AdversarialSuite} may run before it is abandoned
+     * and reported as hung.
+     */
+    public Duration cheatDeadline() {
+        return cheatDeadline;
+    }
+
+    public VerifierOptions cheatDeadline(Duration cheatDeadline) {
+        this.cheatDeadline = cheatDeadline;
+        return this;
+    }
+
+    /**
+     * Directory to write every game's verbose trace to, gzipped and indexed, instead
+     * of printing failed games' traces to stderr; null for stderr.
+     */
+    public Path verboseDir() {
+        return verboseDir;
+    }
+
+    public VerifierOptions verboseDir(Path verboseDir) {
+        this.verboseDir = verboseDir;
+        return this;
+    }
+
+    /**
+     * Whether {@link #verboseDir()} gets the traces of failed games only.
+     */
+    public boolean verboseFailedOnly() {
+        return verboseFailedOnly;
+    }
+
+    public VerifierOptions verboseFailedOnly(boolean verboseFailedOnly) {
+        this.verboseFailedOnly = verboseFailedOnly;
+        return this;
+    }
+
+    /**
+     * {@link ViolationCorpus} file whose games are replayed before the others and which
+     * is updated with this run's violation-finding games; null for none.
+     */
+    public Path corpusFile() {
+        return corpusFile;
+    }
+
+    public VerifierOptions corpusFile(Path corpusFile) {
+        this.corpusFile = corpusFile;
+        return this;
+    }
+
+    /**
+     * Where progress, the adaptive schedule, replay notes and verbose traces without a
+     * directory go; stderr unless set. Not a command-line option: {@link VerifierServer}
+     * gives each job its own.
+     */
+    public PrintStream log() {
+        return log;
+    }
+
+    public VerifierOptions log(PrintStream log) {
+        this.log = log;
+        return this;
+    }
+}
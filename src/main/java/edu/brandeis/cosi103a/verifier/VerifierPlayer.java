@@ -6,11 +6,13 @@ import edu.brandeis.cosi.atg.event.Event;
 import edu.brandeis.cosi.atg.event.GameObserver;
 import edu.brandeis.cosi.atg.player.Player;
 import edu.brandeis.cosi.atg.state.GameState;
+import edu.brandeis.cosi103a.verifier.jfr.DecisionEvent;
 
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * An instrumented Player that captures all makeDecision calls and delegates
@@ -20,12 +22,54 @@ public class VerifierPlayer implements Player {
     private final String name;
     private final DecisionStrategy strategy;
     private final List<DecisionRecord> decisionLog = new ArrayList<>();
+    private final ClassifiedOptions classified = new ClassifiedOptions();
+    private ObserverRecorder recorder;
+    private TerminationGuard guard;
+    private LongAdder decisionCounter;
+    private DecisionTimer timer;
+    private EngineTimer engineTimer;
 
     public VerifierPlayer(String name, DecisionStrategy strategy) {
         this.name = name;
         this.strategy = strategy;
     }
 
+    /**
+     * Records decisions into the given game's recorder instead of the local decision log.
+     */
+    public void recordTo(ObserverRecorder recorder) {
+        this.recorder = recorder;
+        recorder.addPlayer(name);
+    }
+
+    /**
+     * Enforces the given game's termination budgets on every decision.
+     */
+    public void setGuard(TerminationGuard guard) {
+        this.guard = guard;
+    }
+
+    /**
+     * Bumps the given counter on every decision, e.g. for a {@link ProgressReporter}.
+     */
+    public void countDecisionsIn(LongAdder decisionCounter) {
+        this.decisionCounter = decisionCounter;
+    }
+
+    /**
+     * Reports each decision request and return to the given game's timer.
+     */
+    void timeDecisionsWith(DecisionTimer timer) {
+        this.timer = timer;
+    }
+
+    /**
+     * Reports each decision callback to the given game's engine timer.
+     */
+    void timeEngineWith(EngineTimer engineTimer) {
+        this.engineTimer = engineTimer;
+    }
+
     @Override
     public String getName() {
         return name;
@@ -38,8 +82,40 @@ public class VerifierPlayer implements Player {
 
     @Override
     public Decision makeDecision(GameState state, ImmutableList<Decision> options, Optional<Event> event) {
-        Decision chosen = strategy.choose(state, options, event);
-        decisionLog.add(new DecisionRecord(state, options, chosen, event));
+        if (engineTimer != null) {
+            engineTimer.callbackStarted(state.phase(), "decision");
+        }
+        if (timer != null) {
+            timer.decisionRequested();
+        }
+        DecisionEvent jfrEvent = new DecisionEvent();
+        jfrEvent.begin();
+        if (guard != null) {
+            guard.onDecision(name, state);
+        }
+        Decision chosen = strategy.choose(state, classified.classify(options), event);
+        DecisionRecord record = new DecisionRecord(state, options, chosen, event);
+        if (recorder != null) {
+            recorder.recordDecision(name, record);
+        } else {
+            decisionLog.add(record);
+        }
+        if (decisionCounter != null) {
+            decisionCounter.increment();
+        }
+        jfrEvent.end();
+        if (jfrEvent.shouldCommit()) {
+            jfrEvent.player = name;
+            jfrEvent.phase = String.valueOf(state.phase());
+            jfrEvent.optionCount = options.size();
+            jfrEvent.commit();
+        }
+        if (timer != null) {
+            timer.decisionReturned();
+        }
+        if (engineTimer != null) {
+            engineTimer.callbackFinished();
+        }
         return chosen;
     }
 
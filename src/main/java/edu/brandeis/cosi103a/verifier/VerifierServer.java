@@ -0,0 +1,348 @@
+package edu.brandeis.cosi103a.verifier;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Long-lived verifier process. Accepts verification jobs over HTTP and runs them
+ * on a shared pool of warm worker threads, so each job skips JVM startup and
+ * JIT warm-up.
+ *
+ * <p>{@code POST /verify} takes a text body holding the same arguments as the CLI,
+ * one per line: jar path, engine class, then the optional game count and flags. The
+ * body may instead be a form of URL-encoded {@code arg} fields in that order, which
+ * keeps arguments with spaces or line breaks whole.
+ * A job runs exactly as on the command line, gate, shard file, scorecard and engine
+ * profile included. The response streams one line per finished game, then the CLI's
+ * output, and ends with {@code exit=<code>} using the CLI's exit codes. Each job is
+ * numbered, and the number is sent in the {@code X-Verifier-Job} header.
+ *
+ * <p>A job's progress, replay notes and verbose traces go to the server's stderr, each
+ * line tagged {@code [job N]}. Files a job names ({@code --shard-out}, {@code --corpus},
+ * {@code --profile-engine}, {@code --baseline-out}, {@code --gate}, {@code --jfr},
+ * {@code --verbose-dir}) are resolved against the server's output directory and must
+ * stay inside it; without one, such jobs are refused.
+ *
+ * <p>An engine that ignores the adversarial suite's deadline leaves a thread running
+ * its code that nothing can stop. The server keeps every job's leaked threads; once
+ * more than the cap are alive, {@code GET /health} answers 503 and new jobs are
+ * refused until the server is restarted. Otherwise it returns "ok".
+ */
+public class VerifierServer {
+    public static final int DEFAULT_PORT = 8347;
+    public static final int DEFAULT_MAX_LEAKED_THREADS = 16;
+
+    private final HttpServer http;
+    private final ExecutorService workers;
+    private final Path outputDir;
+    private final int maxLeakedThreads;
+    private final List<Thread> leakedThreads = new ArrayList<>();
+    private final AtomicInteger jobs = new AtomicInteger();
+
+    /**
+     * @param outputDir        directory the jobs' files are confined to, or null to refuse
+     *                         jobs that name files
+     * @param maxLeakedThreads how many leaked engine threads may be alive before the
+     *                         server reports itself unhealthy and refuses jobs
+     */
+    public VerifierServer(InetSocketAddress address, int workerThreads, Path outputDir, int maxLeakedThreads)
+            throws IOException {
+        this.outputDir = outputDir != null ? outputDir.toAbsolutePath().normalize() : null;
+        if (this.outputDir != null) {
+            Files.createDirectories(this.outputDir);
+        }
+        this.maxLeakedThreads = maxLeakedThreads;
+        this.workers = Executors.newFixedThreadPool(workerThreads,
+                Thread.ofPlatform().name("verifier-worker-", 0).daemon().factory());
+        this.http = HttpServer.create(address, 0);
+        http.setExecutor(Executors.newVirtualThreadPerTaskExecutor()); // request threads only wait
+        http.createContext("/verify", this::handleVerify);
+        http.createContext("/health", this::handleHealth);
+    }
+
+    public void start() {
+        http.start();
+    }
+
+    public void stop() {
+        http.stop(0);
+        workers.shutdown();
+    }
+
+    public InetSocketAddress address() {
+        return http.getAddress();
+    }
+
+    /**
+     * How many threads leaked by earlier jobs are still running engine code.
+     */
+    public int leakedThreadsAlive() {
+        synchronized (leakedThreads) {
+            leakedThreads.removeIf(thread -> !thread.isAlive());
+            return leakedThreads.size();
+        }
+    }
+
+    private void handleHealth(HttpExchange exchange) throws IOException {
+        int leaked = leakedThreadsAlive();
+        boolean healthy = leaked <= maxLeakedThreads;
+        byte[] body = (healthy ? "ok\n" : "unhealthy: " + leaked + " leaked engine threads still running (cap "
+                + maxLeakedThreads + ")\n").getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(healthy ? 200 : 503, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private void handleVerify(HttpExchange exchange) throws IOException {
+        if (!"POST".equals(exchange.getRequestMethod())) {
+            exchange.sendResponseHeaders(405, -1);
+            exchange.close();
+            return;
+        }
+        String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+        int job = jobs.incrementAndGet();
+        exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+        exchange.getResponseHeaders().set("X-Verifier-Job", Integer.toString(job));
+        exchange.sendResponseHeaders(200, 0); // chunked, so lines stream as games finish
+        try (PrintStream out = new PrintStream(exchange.getResponseBody(), true, StandardCharsets.UTF_8);
+             PrintStream log = new PrintStream(new TaggedLines("[job " + job + "] ", System.err), true,
+                     StandardCharsets.UTF_8)) {
+            int exitCode;
+            try {
+                exitCode = runJob(jobArgs(body), out, log);
+            } catch (IllegalArgumentException e) {
+                println(out, "Error: malformed job: " + e.getMessage());
+                exitCode = 2;
+            }
+            println(out, "exit=" + exitCode);
+        }
+    }
+
+    /**
+     * The arguments of a job body: a form of URL-encoded {@code arg} fields if it starts
+     * with one, otherwise one argument per non-blank line.
+     *
+     * @throws IllegalArgumentException for a form field other than {@code arg} or a
+     *                                  malformed escape
+     */
+    static String[] jobArgs(String body) {
+        if (!body.startsWith("arg=")) {
+            return body.lines()
+                    .map(String::trim)
+                    .filter(line -> !line.isEmpty())
+                    .toArray(String[]::new);
+        }
+        return Arrays.stream(body.strip().split("&"))
+                .map(field -> {
+                    if (!field.startsWith("arg=")) {
+                        throw new IllegalArgumentException("unexpected form field " + field);
+                    }
+                    return URLDecoder.decode(field.substring(4), StandardCharsets.UTF_8);
+                })
+                .toArray(String[]::new);
+    }
+
+    /**
+     * Writes one whole line of a job's response. Game lines come from the harness's
+     * threads and the rest from the job's worker, so each line is written under the
+     * stream's lock and lines never interleave.
+     */
+    private static void println(PrintStream out, String line) {
+        synchronized (out) {
+            out.println(line);
+        }
+    }
+
+    private static String outcome(List<Violation> violations) {
+        return violations.isEmpty() ? "passed" : violations.size() + " violation(s)";
+    }
+
+    /**
+     * Resolves the job's files against the output directory and rejects any that would
+     * land outside it, so a job cannot read or write elsewhere on the server.
+     *
+     * @throws IllegalArgumentException for a file outside the directory, or any file
+     *                                  when there is no directory
+     */
+    static void confineFiles(VerifierOptions options, Path outputDir) {
+        options.shardOut(confine("--shard-out", options.shardOut(), outputDir));
+        options.corpusFile(confine("--corpus", options.corpusFile(), outputDir));
+        options.engineProfile(confine("--profile-engine", options.engineProfile(), outputDir));
+        options.baselineOut(confine("--baseline-out", options.baselineOut(), outputDir));
+        options.gateFile(confine("--gate", options.gateFile(), outputDir));
+        options.jfrFile(confine("--jfr", options.jfrFile(), outputDir));
+        options.verboseDir(confine("--verbose-dir", options.verboseDir(), outputDir));
+    }
+
+    private static Path confine(String option, Path file, Path outputDir) {
+        if (file == null) {
+            return null;
+        }
+        if (outputDir == null) {
+            throw new IllegalArgumentException(option + " needs a server started with --output-dir");
+        }
+        Path resolved = outputDir.resolve(file).normalize();
+        if (!resolved.startsWith(outputDir) || resolved.equals(outputDir)) {
+            throw new IllegalArgumentException(option + " must name a file inside " + outputDir);
+        }
+        return resolved;
+    }
+
+    private int runJob(String[] args, PrintStream out, PrintStream log) {
+        int leaked = leakedThreadsAlive();
+        if (leaked > maxLeakedThreads) {
+            println(out, "Error: server is unhealthy: " + leaked
+                    + " engine threads leaked by earlier jobs are still running; restart it");
+            return 2;
+        }
+        if (args.length < 2) {
+            println(out, "Error: expected <jar-path> and <engine-class-fqn>");
+            return 2;
+        }
+        String jarPath = args[0];
+        String className = args[1];
+        if (!new File(jarPath).isFile()) {
+            println(out, "Error: JAR file not found: " + jarPath);
+            return 2;
+        }
+        VerifierOptions options;
+        try {
+            options = VerifierOptions.fromArgs(args).log(log);
+            confineFiles(options, outputDir);
+        } catch (IllegalArgumentException e) {
+            println(out, "Error: " + e.getMessage());
+            return 2;
+        }
+        try (EngineLoader loader = new EngineLoader(jarPath, className)) {
+            GameListener listener = new GameListener() {
+                @Override
+                public void gameFinished(int gameIndex, List<Violation> violations) {
+                    println(out, "Game " + gameIndex + ": " + outcome(violations));
+                }
+
+                @Override
+                public void replayFinished(String replayOf, List<Violation> violations) {
+                    println(out, "Replay of " + replayOf + ": " + outcome(violations));
+                }
+
+                @Override
+                public void adversarialFinished(AdversarialSuite suite) {
+                    if (suite.abandonedThreads().isEmpty()) {
+                        return;
+                    }
+                    synchronized (leakedThreads) {
+                        leakedThreads.addAll(suite.abandonedThreads());
+                    }
+                    log.println(suite.abandonedThreads().size() + " engine thread(s) leaked; "
+                            + leakedThreadsAlive() + " alive on the server (cap " + maxLeakedThreads + ")");
+                }
+            };
+            return workers.submit(() -> VerifierHarness.runJob(loader, className, options, out, listener)).get();
+        } catch (ExecutionException e) {
+            println(out, "Error: " + (e.getCause() instanceof IllegalArgumentException
+                    ? e.getCause().getMessage() : e.getCause()));
+            return 2;
+        } catch (Exception e) {
+            println(out, "Error: " + e);
+            return 2;
+        }
+    }
+
+    /**
+     * A job's stderr: each line is buffered and written whole, with the job's tag in
+     * front, so concurrent jobs' lines neither interleave nor lose their owner.
+     */
+    private static final class TaggedLines extends OutputStream {
+        private final String tag;
+        private final PrintStream target;
+        private final ByteArrayOutputStream line = new ByteArrayOutputStream();
+
+        TaggedLines(String tag, PrintStream target) {
+            this.tag = tag;
+            this.target = target;
+        }
+
+        @Override
+        public synchronized void write(int b) {
+            if (b == '\n') {
+                writeLine();
+            } else {
+                line.write(b);
+            }
+        }
+
+        @Override
+        public synchronized void write(byte[] b, int off, int len) {
+            for (int i = off; i < off + len; i++) {
+                write(b[i]);
+            }
+        }
+
+        @Override
+        public synchronized void close() {
+            if (line.size() > 0) {
+                writeLine();
+            }
+        }
+
+        private void writeLine() {
+            target.println(tag + line.toString(StandardCharsets.UTF_8));
+            line.reset();
+        }
+    }
+
+    // --- CLI ---
+
+    /**
+     * {@code VerifierServer [port] [bind-address] [--output-dir DIR] [--max-leaked-threads N]}
+     */
+    public static void main(String[] args) throws Exception {
+        int port = DEFAULT_PORT;
+        String bind = "127.0.0.1";
+        Path outputDir = null;
+        int maxLeakedThreads = DEFAULT_MAX_LEAKED_THREADS;
+        int positional = 0;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--output-dir" -> outputDir = Path.of(args[++i]);
+                case "--max-leaked-threads" -> maxLeakedThreads = Integer.parseInt(args[++i]);
+                default -> {
+                    if (positional++ == 0) {
+                        port = Integer.parseInt(args[i]);
+                    } else {
+                        bind = args[i];
+                    }
+                }
+            }
+        }
+        int workers = Runtime.getRuntime().availableProcessors();
+
+        VerifierServer server = new VerifierServer(new InetSocketAddress(InetAddress.getByName(bind), port), workers,
+                outputDir, maxLeakedThreads);
+        Runtime.getRuntime().addShutdownHook(new Thread(server::stop));
+        server.start();
+        // The HTTP dispatcher thread keeps the process alive from here on
+        System.err.println("Verifier server listening on " + server.address() + " with " + workers + " workers"
+                + (outputDir != null ? ", writing files under " + server.outputDir : ", refusing jobs that name files"));
+    }
+}
@@ -9,6 +9,8 @@ package edu.brandeis.cosi103a.verifier;
  * @param turn        which turn the violation occurred in, or -1 if not turn-specific
  * @param playerName  the player involved, or null if not player-specific
  * @param context     additional context (e.g. game state details) for debugging
+ * @param replayOf    for a corpus replay, the earlier game it replays (e.g. "seed 42 game 7"),
+ *                    whose index is then {@code gameIndex}; null for this run's own games
  */
 public record Violation(
         String checkName,
@@ -16,7 +18,8 @@ public record Violation(
         int gameIndex,
         int turn,
         String playerName,
-        String context) {
+        String context,
+        String replayOf) {
 
     public Violation(String checkName, String description, int gameIndex) {
         this(checkName, description, gameIndex, -1, null, null);
@@ -26,10 +29,22 @@ public record Violation(
         this(checkName, description, gameIndex, turn, playerName, null);
     }
 
+    public Violation(String checkName, String description, int gameIndex, int turn, String playerName,
+                     String context) {
+        this(checkName, description, gameIndex, turn, playerName, context, null);
+    }
+
+    /**
+     * This violation as found by a replay of the given earlier game.
+     */
+    public Violation inReplayOf(String game) {
+        return new Violation(checkName, description, gameIndex, turn, playerName, context, game);
+    }
+
     @Override
     public String toString() {
         var sb = new StringBuilder();
-        sb.append("[Game ").append(gameIndex);
+        sb.append(replayOf != null ? "[Replay of " + replayOf : gameIndex < 0 ? "[All games" : "[Game " + gameIndex);
         if (turn >= 0) sb.append(", Turn ").append(turn);
         if (playerName != null) sb.append(", Player: ").append(playerName);
         sb.append("] ");
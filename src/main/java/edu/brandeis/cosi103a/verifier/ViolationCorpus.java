@@ -0,0 +1,139 @@
+package edu.brandeis.cosi103a.verifier;
+
+import edu.brandeis.cosi.atg.cards.Card;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Games that found violations in earlier runs, kept so later runs try them first.
+ * A game is identified by its run seed and index (which seed its players'
+ * strategies), its player setup and its kingdom, so it replays exactly whatever
+ * run it came from. Entries are kept per {@link Violation#checkName()}, at most one
+ * per player setup, so a check keeps reproducers for different kinds of players
+ * rather than the latest few finds. An entry stays until a replay of it no longer
+ * finds its check; only then can another game with that setup take its place.
+ *
+ * <p>The file is line-based text: a header, then one tab-separated line per entry
+ * (check, run seed, game index, setup, kingdom as comma-separated card types).
+ */
+final class ViolationCorpus {
+    private static final String MAGIC = "atg-verifier-corpus 1";
+
+    /** One violation-finding game. */
+    record Entry(String checkName, long runSeed, int gameIndex, int setup, List<Card.Type> kingdom) {
+        /** The same game, whatever check it found. */
+        Entry game() {
+            return new Entry("", runSeed, gameIndex, setup, kingdom);
+        }
+    }
+
+    private final Map<String, List<Entry>> byCheck = new TreeMap<>();
+
+    /**
+     * Reads a corpus file; a missing file is an empty corpus.
+     */
+    static ViolationCorpus read(Path file) throws IOException {
+        ViolationCorpus corpus = new ViolationCorpus();
+        List<String> lines;
+        try {
+            lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        } catch (NoSuchFileException e) {
+            return corpus;
+        }
+        if (lines.isEmpty() || !lines.get(0).equals(MAGIC)) {
+            throw new IOException(file + " is not a violation corpus file");
+        }
+        for (String line : lines.subList(1, lines.size())) {
+            String[] f = line.split("\t", -1);
+            try {
+                List<Card.Type> kingdom = f[4].isEmpty() ? List.of() : Arrays.stream(f[4].split(","))
+                        .map(Card.Type::valueOf)
+                        .toList();
+                Entry entry = new Entry(f[0], Long.parseLong(f[1]), Integer.parseInt(f[2]), Integer.parseInt(f[3]),
+                        kingdom);
+                if (entry.setup() < 0 || entry.setup() >= VerifierHarness.SETUPS) {
+                    throw new IllegalArgumentException("no setup " + entry.setup());
+                }
+                corpus.byCheck.computeIfAbsent(entry.checkName(), k -> new ArrayList<>()).add(entry);
+            } catch (RuntimeException e) {
+                throw new IOException(file + ": bad line: " + line, e);
+            }
+        }
+        return corpus;
+    }
+
+    void write(Path file) throws IOException {
+        try (BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            out.write(MAGIC + "\n");
+            for (List<Entry> entries : byCheck.values()) {
+                for (Entry e : entries) {
+                    out.write(String.join("\t", e.checkName(), Long.toString(e.runSeed()),
+                            Integer.toString(e.gameIndex()), Integer.toString(e.setup()),
+                            e.kingdom().stream().map(Card.Type::name).collect(Collectors.joining(","))) + "\n");
+                }
+            }
+        }
+    }
+
+    /**
+     * Records a game that found a violation of the entry's check, unless the check
+     * already has a game with the same setup.
+     */
+    void add(Entry entry) {
+        List<Entry> entries = byCheck.computeIfAbsent(entry.checkName(), k -> new ArrayList<>());
+        if (entries.stream().noneMatch(e -> e.setup() == entry.setup())) {
+            entries.add(entry);
+        }
+    }
+
+    /**
+     * Drops a game from a check it no longer finds.
+     */
+    void remove(Entry entry) {
+        List<Entry> entries = byCheck.get(entry.checkName());
+        if (entries != null) {
+            entries.remove(entry);
+            if (entries.isEmpty()) byCheck.remove(entry.checkName());
+        }
+    }
+
+    /**
+     * The distinct games to replay: each check's oldest entry first, then each check's
+     * second oldest, and so on, so every check gets a game early.
+     */
+    List<Entry> games() {
+        Set<Entry> games = new LinkedHashSet<>();
+        for (int rank = 0; rank < VerifierHarness.SETUPS; rank++) {
+            for (List<Entry> entries : byCheck.values()) {
+                if (rank < entries.size()) {
+                    games.add(entries.get(rank).game());
+                }
+            }
+        }
+        return new ArrayList<>(games);
+    }
+
+    /**
+     * Names of the checks a game has found before.
+     */
+    List<String> checksFoundBy(Entry game) {
+        List<String> checks = new ArrayList<>();
+        byCheck.forEach((check, entries) -> {
+            if (entries.stream().anyMatch(e -> e.game().equals(game))) checks.add(check);
+        });
+        return checks;
+    }
+}
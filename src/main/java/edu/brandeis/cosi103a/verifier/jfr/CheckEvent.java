@@ -0,0 +1,23 @@
+package edu.brandeis.cosi103a.verifier.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * One invariant check run against one game's trace.
+ */
+@Name("edu.brandeis.cosi103a.verifier.InvariantCheck")
+@Label("Invariant Check")
+@Category({"ATG Verifier"})
+public class CheckEvent extends Event {
+    @Label("Invariant")
+    public String invariant;
+
+    @Label("Game Index")
+    public int gameIndex;
+
+    @Label("Violations")
+    public int violations;
+}
@@ -0,0 +1,23 @@
+package edu.brandeis.cosi103a.verifier.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * One makeDecision call on a VerifierPlayer: strategy plus recording time.
+ */
+@Name("edu.brandeis.cosi103a.verifier.Decision")
+@Label("Player Decision")
+@Category({"ATG Verifier"})
+public class DecisionEvent extends Event {
+    @Label("Player")
+    public String player;
+
+    @Label("Phase")
+    public String phase;
+
+    @Label("Option Count")
+    public int optionCount;
+}
@@ -0,0 +1,33 @@
+package edu.brandeis.cosi103a.verifier.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * One verification game, from engine creation until play() returns or throws.
+ */
+@Name("edu.brandeis.cosi103a.verifier.Game")
+@Label("Verification Game")
+@Category({"ATG Verifier"})
+public class GameEvent extends Event {
+    @Label("Game Index")
+    public int gameIndex;
+
+    @Label("Game Seed")
+    @Description("Seed the game's player setup and kingdom were derived from")
+    public long seed;
+
+    @Label("Players")
+    @Description("Player names, which encode their strategies")
+    public String players;
+
+    @Label("Kingdom")
+    public String kingdom;
+
+    @Label("Completed")
+    @Description("Whether play() returned a result")
+    public boolean completed;
+}
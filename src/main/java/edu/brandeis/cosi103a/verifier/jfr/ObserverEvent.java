@@ -0,0 +1,17 @@
+package edu.brandeis.cosi103a.verifier.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * One notifyEvent call on the ObserverRecorder: recording time on the engine thread.
+ */
+@Name("edu.brandeis.cosi103a.verifier.ObserverNotification")
+@Label("Observer Notification")
+@Category({"ATG Verifier"})
+public class ObserverEvent extends Event {
+    @Label("Event Type")
+    public String eventType;
+}
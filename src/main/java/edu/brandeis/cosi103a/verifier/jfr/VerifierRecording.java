@@ -0,0 +1,36 @@
+package edu.brandeis.cosi103a.verifier.jfr;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Event;
+import jdk.jfr.Recording;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.util.List;
+
+/**
+ * Starts a flight recording of a verification run: the JDK's "profile" settings
+ * (CPU samples, allocation, locks) plus every verifier event.
+ */
+public final class VerifierRecording {
+
+    private VerifierRecording() {
+    }
+
+    /**
+     * Starts recording; the file is written when the returned recording is stopped.
+     */
+    public static Recording start(Path destination) throws IOException, ParseException {
+        Recording recording = new Recording(Configuration.getConfiguration("profile"));
+        recording.setName("atg-verifier");
+        List<Class<? extends Event>> types = List.of(
+                GameEvent.class, DecisionEvent.class, ObserverEvent.class, CheckEvent.class);
+        for (Class<? extends Event> type : types) {
+            recording.enable(type).withoutThreshold();
+        }
+        recording.setDestination(destination);
+        recording.start();
+        return recording;
+    }
+}
@@ -2,9 +2,10 @@ package edu.brandeis.cosi103a.verifier.strategies;
 
 import com.google.common.collect.ImmutableList;
 import edu.brandeis.cosi.atg.cards.Card;
-import edu.brandeis.cosi.atg.decisions.*;
+import edu.brandeis.cosi.atg.decisions.Decision;
 import edu.brandeis.cosi.atg.event.Event;
 import edu.brandeis.cosi.atg.state.GameState;
+import edu.brandeis.cosi103a.verifier.ClassifiedOptions;
 import edu.brandeis.cosi103a.verifier.DecisionStrategy;
 
 import java.util.Optional;
@@ -16,68 +17,31 @@ import java.util.Optional;
 public class ActionHeavyStrategy implements DecisionStrategy {
     @Override
     public Decision choose(GameState state, ImmutableList<Decision> options, Optional<Event> event) {
+        return choose(state, new ClassifiedOptions().classify(options), event);
+    }
+
+    @Override
+    public Decision choose(GameState state, ClassifiedOptions options, Optional<Event> event) {
         return switch (state.phase()) {
-            case ACTION -> playActionOrEnd(options);
-            case MONEY -> playMoneyOrEnd(options);
+            case ACTION -> options.firstPlayOrEndPhase(Card.Type.Category.ACTION);
+            case MONEY -> options.firstPlayOrEndPhase(Card.Type.Category.MONEY);
             case BUY -> buyActionOrFramework(options);
-            case GAIN -> gainHighestCost(options);
+            case GAIN -> BigMoneyStrategy.gainHighestCost(options);
             case DISCARD -> discardFirst(options);
-            case REACTION, CLEANUP -> BigMoneyStrategy.findEndPhaseOrFirst(options);
+            case REACTION, CLEANUP -> options.endPhaseOrFirst();
         };
     }
 
-    private Decision playActionOrEnd(ImmutableList<Decision> options) {
-        for (Decision d : options) {
-            if (d instanceof PlayCardDecision p && p.card().category() == Card.Type.Category.ACTION) {
-                return d;
-            }
-        }
-        return BigMoneyStrategy.findEndPhaseOrFirst(options);
-    }
-
-    private Decision playMoneyOrEnd(ImmutableList<Decision> options) {
-        for (Decision d : options) {
-            if (d instanceof PlayCardDecision p && p.card().category() == Card.Type.Category.MONEY) {
-                return d;
-            }
-        }
-        return BigMoneyStrategy.findEndPhaseOrFirst(options);
-    }
-
-    private Decision buyActionOrFramework(ImmutableList<Decision> options) {
-        BuyDecision bestAction = null;
-        int bestCost = -1;
-        BuyDecision frameworkBuy = null;
-        for (Decision d : options) {
-            if (d instanceof BuyDecision b) {
-                if (b.cardType() == Card.Type.FRAMEWORK) frameworkBuy = b;
-                if (b.cardType().category() == Card.Type.Category.ACTION && b.cardType().cost() > bestCost) {
-                    bestCost = b.cardType().cost();
-                    bestAction = b;
-                }
-            }
-        }
-        if (bestAction != null) return bestAction;
-        if (frameworkBuy != null) return frameworkBuy;
-        return BigMoneyStrategy.findEndPhaseOrFirst(options);
-    }
-
-    private Decision gainHighestCost(ImmutableList<Decision> options) {
-        GainCardDecision best = null;
-        int bestCost = -1;
-        for (Decision d : options) {
-            if (d instanceof GainCardDecision g && g.cardType().cost() > bestCost) {
-                bestCost = g.cardType().cost();
-                best = g;
-            }
-        }
-        return best != null ? best : options.get(0);
+    private Decision buyActionOrFramework(ClassifiedOptions options) {
+        int bestAction = options.highestCostBuy(Card.Type.Category.ACTION);
+        if (bestAction >= 0) return options.get(bestAction);
+        int framework = options.buyIndex(Card.Type.FRAMEWORK);
+        if (framework >= 0) return options.get(framework);
+        return options.endPhaseOrFirst();
     }
 
-    private Decision discardFirst(ImmutableList<Decision> options) {
-        for (Decision d : options) {
-            if (d instanceof DiscardCardDecision) return d;
-        }
-        return BigMoneyStrategy.findEndPhaseOrFirst(options);
+    private Decision discardFirst(ClassifiedOptions options) {
+        int discard = options.discardIndex();
+        return discard >= 0 ? options.get(discard) : options.endPhaseOrFirst();
     }
 }
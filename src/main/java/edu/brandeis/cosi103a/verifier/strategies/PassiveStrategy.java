@@ -4,6 +4,7 @@ import com.google.common.collect.ImmutableList;
 import edu.brandeis.cosi.atg.decisions.Decision;
 import edu.brandeis.cosi.atg.event.Event;
 import edu.brandeis.cosi.atg.state.GameState;
+import edu.brandeis.cosi103a.verifier.ClassifiedOptions;
 import edu.brandeis.cosi103a.verifier.DecisionStrategy;
 
 import java.util.Optional;
@@ -14,6 +15,11 @@ import java.util.Optional;
 public class PassiveStrategy implements DecisionStrategy {
     @Override
     public Decision choose(GameState state, ImmutableList<Decision> options, Optional<Event> event) {
-        return BigMoneyStrategy.findEndPhaseOrFirst(options);
+        return choose(state, new ClassifiedOptions().classify(options), event);
+    }
+
+    @Override
+    public Decision choose(GameState state, ClassifiedOptions options, Optional<Event> event) {
+        return options.endPhaseOrFirst();
     }
 }
@@ -4,6 +4,7 @@ import com.google.common.collect.ImmutableList;
 import edu.brandeis.cosi.atg.decisions.Decision;
 import edu.brandeis.cosi.atg.event.Event;
 import edu.brandeis.cosi.atg.state.GameState;
+import edu.brandeis.cosi103a.verifier.ClassifiedOptions;
 import edu.brandeis.cosi103a.verifier.DecisionStrategy;
 
 import java.util.Optional;
@@ -23,4 +24,9 @@ public class RandomLegalStrategy implements DecisionStrategy {
     public Decision choose(GameState state, ImmutableList<Decision> options, Optional<Event> event) {
         return options.get(random.nextInt(options.size()));
     }
+
+    @Override
+    public Decision choose(GameState state, ClassifiedOptions options, Optional<Event> event) {
+        return options.get(random.nextInt(options.size())); // needs no classification
+    }
 }
@@ -0,0 +1,82 @@
+package edu.brandeis.cosi103a.verifier;
+
+import com.google.common.collect.ImmutableList;
+import edu.brandeis.cosi.atg.cards.Card;
+import edu.brandeis.cosi.atg.decisions.BuyDecision;
+import edu.brandeis.cosi.atg.decisions.Decision;
+import edu.brandeis.cosi.atg.decisions.EndPhaseDecision;
+import edu.brandeis.cosi.atg.decisions.PlayCardDecision;
+import edu.brandeis.cosi.atg.state.GameState;
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class ClassifiedOptionsTest {
+    private static final List<Card.Type> MONEY = List.of(Card.Type.BITCOIN, Card.Type.ETHEREUM, Card.Type.DOGECOIN);
+
+    @Test
+    void firstOptionOfEachKindIsIndexed() {
+        ImmutableList<Decision> options = ImmutableList.of(
+                new PlayCardDecision(new Card(Card.Type.BITCOIN, 1)),
+                new PlayCardDecision(new Card(Card.Type.ETHEREUM, 2)),
+                new BuyDecision(Card.Type.FRAMEWORK),
+                new BuyDecision(Card.Type.FRAMEWORK),
+                new EndPhaseDecision(GameState.TurnPhase.MONEY));
+
+        ClassifiedOptions classified = new ClassifiedOptions().classify(options);
+
+        assertEquals(0, classified.firstPlayIndex(Card.Type.Category.MONEY));
+        assertEquals(-1, classified.firstPlayIndex(Card.Type.Category.ACTION));
+        assertEquals(2, classified.buyIndex(Card.Type.FRAMEWORK));
+        assertEquals(-1, classified.buyIndex(Card.Type.BITCOIN));
+        assertEquals(-1, classified.gainIndex(Card.Type.FRAMEWORK));
+        assertEquals(4, classified.endPhaseIndex());
+        assertEquals(-1, classified.discardIndex());
+        assertSame(options.get(4), classified.endPhaseOrFirst());
+    }
+
+    @Test
+    void highestCostAndValueBuysFollowTheCardTypes() {
+        ImmutableList<Decision> options = ImmutableList.of(
+                new BuyDecision(Card.Type.BITCOIN),
+                new BuyDecision(Card.Type.DOGECOIN),
+                new BuyDecision(Card.Type.ETHEREUM),
+                new BuyDecision(Card.Type.METHOD));
+
+        ClassifiedOptions classified = new ClassifiedOptions().classify(options);
+
+        Card.Type costliest = MONEY.stream().max(Comparator.comparingInt(Card.Type::cost)).orElseThrow();
+        Card.Type mostValuable = MONEY.stream().max(Comparator.comparingInt(Card.Type::value)).orElseThrow();
+        assertEquals(classified.buyIndex(costliest), classified.highestCostBuy(Card.Type.Category.MONEY));
+        assertEquals(classified.buyIndex(mostValuable), classified.highestValueBuy(Card.Type.Category.MONEY));
+        assertEquals(3, classified.highestCostBuy(Card.Type.Category.VICTORY));
+        assertEquals(-1, classified.highestCostBuy(Card.Type.Category.ACTION));
+    }
+
+    @Test
+    void reclassifyingReplacesThePreviousOptions() {
+        ClassifiedOptions classified = new ClassifiedOptions();
+        classified.classify(ImmutableList.of(new BuyDecision(Card.Type.FRAMEWORK)));
+        ImmutableList<Decision> next = ImmutableList.of(new PlayCardDecision(new Card(Card.Type.BITCOIN, 1)));
+
+        assertSame(classified, classified.classify(next));
+        assertEquals(-1, classified.buyIndex(Card.Type.FRAMEWORK));
+        assertEquals(1, classified.size());
+        assertSame(next.get(0), classified.firstPlayOrEndPhase(Card.Type.Category.MONEY));
+    }
+
+    @Test
+    void withoutEndPhaseTheFirstOptionIsTheFallback() {
+        ImmutableList<Decision> options = ImmutableList.of(
+                new BuyDecision(Card.Type.METHOD), new BuyDecision(Card.Type.BITCOIN));
+
+        ClassifiedOptions classified = new ClassifiedOptions().classify(options);
+
+        assertSame(options.get(0), classified.endPhaseOrFirst());
+        assertSame(options.get(0), classified.firstPlayOrEndPhase(Card.Type.Category.ACTION));
+    }
+}
@@ -0,0 +1,68 @@
+package edu.brandeis.cosi103a.verifier;
+
+import edu.brandeis.cosi.atg.cards.Card;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class KingdomPlanTest {
+    private static final int SETUPS = 5;
+    private static final List<Card.Type> ACTIONS = Arrays.stream(Card.Type.values())
+            .filter(t -> t.category() == Card.Type.Category.ACTION)
+            .toList();
+
+    @Test
+    void kingdomsHoldDistinctActionCards() {
+        KingdomPlan plan = new KingdomPlan(42, SETUPS);
+        for (int game = 0; game < 60; game++) {
+            List<Card.Type> kingdom = plan.kingdomFor(game);
+            assertEquals(Math.min(KingdomPlan.KINGDOM_SIZE, ACTIONS.size()), kingdom.size());
+            assertEquals(kingdom.size(), new HashSet<>(kingdom).size());
+            assertTrue(ACTIONS.containsAll(kingdom));
+        }
+    }
+
+    @Test
+    void firstGamesOfEveryCycleCoverEveryPair() {
+        KingdomPlan plan = new KingdomPlan(7, SETUPS);
+        int cycleLength = plan.kingdomCount() * SETUPS;
+        for (int cycle = 0; cycle < 4; cycle++) {
+            Set<Set<Card.Type>> pairs = new HashSet<>();
+            for (int k = 0; k < plan.kingdomCount(); k++) {
+                List<Card.Type> kingdom = plan.kingdomFor(cycle * cycleLength + k);
+                for (Card.Type a : kingdom) {
+                    for (Card.Type b : kingdom) {
+                        if (a != b) pairs.add(Set.of(a, b));
+                    }
+                }
+            }
+            assertEquals(ACTIONS.size() * (ACTIONS.size() - 1) / 2, pairs.size());
+        }
+    }
+
+    @Test
+    void everySetupMeetsEveryKingdomWithinACycle() {
+        KingdomPlan plan = new KingdomPlan(3, SETUPS);
+        int cycleLength = plan.kingdomCount() * SETUPS;
+        Set<List<Object>> combinations = new HashSet<>();
+        for (int game = 0; game < cycleLength; game++) {
+            combinations.add(List.of(game % SETUPS, new HashSet<>(plan.kingdomFor(game))));
+        }
+        assertEquals(cycleLength, combinations.size());
+    }
+
+    @Test
+    void kingdomDependsOnlyOnSeedAndIndex() {
+        KingdomPlan plan = new KingdomPlan(42, SETUPS);
+        assertEquals(plan.kingdomFor(37), new KingdomPlan(42, SETUPS).kingdomFor(37));
+        assertEquals(plan.kingdomFor(37), plan.kingdomFor(37));
+        assertNotEquals(plan.kingdomFor(0), new KingdomPlan(43, SETUPS).kingdomFor(0));
+    }
+}
@@ -0,0 +1,66 @@
+package edu.brandeis.cosi103a.verifier;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LatencyHistogramTest {
+
+    @Test
+    void emptyHistogramReportsZero() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        assertEquals(0, histogram.count());
+        assertEquals(0, histogram.percentile(50));
+    }
+
+    @Test
+    void smallValuesAreExact() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long v = 0; v < 16; v++) {
+            histogram.record(v);
+        }
+
+        assertEquals(16, histogram.count());
+        assertEquals(0, histogram.percentile(0));
+        assertEquals(7, histogram.percentile(50));
+        assertEquals(15, histogram.percentile(100));
+    }
+
+    @Test
+    void percentilesAreUpperBoundsWithinOneSubBucket() {
+        for (long v = 16; v < 1L << 40; v = v * 3 + 1) {
+            LatencyHistogram histogram = new LatencyHistogram();
+            histogram.record(v);
+            long reported = histogram.percentile(50);
+            assertTrue(reported >= v, v + " reported as " + reported);
+            assertTrue(reported - v <= v / 16, v + " reported as " + reported);
+        }
+    }
+
+    @Test
+    void percentilesRankTheRecordedValues() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < 990; i++) {
+            histogram.record(1_000);
+        }
+        for (int i = 0; i < 10; i++) {
+            histogram.record(1_000_000);
+        }
+
+        assertTrue(histogram.percentile(50) < 1_100);
+        assertTrue(histogram.percentile(99) < 1_100);
+        assertTrue(histogram.percentile(99.9) >= 1_000_000);
+    }
+
+    @Test
+    void extremesStayInRange() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(-5);
+        histogram.record(Long.MAX_VALUE);
+
+        assertEquals(0, histogram.percentile(50));
+        assertEquals(Long.MAX_VALUE, histogram.percentile(100));
+    }
+}
@@ -0,0 +1,82 @@
+package edu.brandeis.cosi103a.verifier;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SetupSchedulerTest {
+    private static final String[] NAMES = {"A x2", "B x2", "C x3", "D x4", "E x2"};
+    private static final int[] PLAYERS = {2, 2, 3, 4, 2};
+
+    /**
+     * Plays the given number of games, rewarding only games of the productive setup,
+     * and returns how many games each setup got.
+     */
+    private static int[] run(SetupScheduler scheduler, int games, int productive) {
+        int[] plays = new int[NAMES.length];
+        for (int g = 0; g < games; g++) {
+            int setup = scheduler.next();
+            plays[setup]++;
+            scheduler.record(setup, setup == productive ? 2 : 0, setup == productive ? 5 : 0, 0);
+        }
+        return plays;
+    }
+
+    @Test
+    void warmupCyclesThroughEverySetup() {
+        SetupScheduler scheduler = new SetupScheduler(NAMES, PLAYERS);
+        for (int g = 0; g < NAMES.length * SetupScheduler.WARMUP_ROUNDS; g++) {
+            int setup = scheduler.next();
+            assertEquals(g % NAMES.length, setup);
+            scheduler.record(setup, 0, 0, 0);
+        }
+    }
+
+    @Test
+    void productiveSetupGetsMostGames() {
+        int[] plays = run(new SetupScheduler(NAMES, PLAYERS), 400, 3);
+
+        for (int s = 0; s < NAMES.length; s++) {
+            if (s != 3) assertTrue(plays[3] > plays[s], "setup 3 got " + plays[3] + ", setup " + s + " " + plays[s]);
+        }
+    }
+
+    @Test
+    void everySetupKeepsItsMinimumShare() {
+        int games = 1000;
+        int[] plays = run(new SetupScheduler(NAMES, PLAYERS), games, 1);
+
+        for (int s = 0; s < NAMES.length; s++) {
+            assertTrue(plays[s] * 100L >= (long) games * SetupScheduler.MIN_SHARE_PERCENT - 100,
+                    "setup " + s + " got " + plays[s]);
+        }
+    }
+
+    @Test
+    void withoutRewardsEverySetupIsPlayed() {
+        int[] plays = run(new SetupScheduler(NAMES, PLAYERS), 100, -1);
+
+        for (int count : plays) {
+            assertTrue(count >= 10, "a setup got only " + count + " games");
+        }
+    }
+
+    @Test
+    void summaryListsEverySetup() {
+        SetupScheduler scheduler = new SetupScheduler(NAMES, PLAYERS);
+        run(scheduler, 20, 2);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        scheduler.printSummary(new PrintStream(bytes, true, StandardCharsets.UTF_8));
+        String summary = bytes.toString(StandardCharsets.UTF_8);
+
+        assertTrue(summary.startsWith("Adaptive schedule over 20 games:"));
+        for (String name : NAMES) {
+            assertTrue(summary.contains(name), summary);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package edu.brandeis.cosi103a.verifier;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ShardResultTest {
+    private static final String ENGINE = "com.example.Engine";
+
+    private static ShardResult shard(int index, int count, int played, int passed, Violation... violations) {
+        return new ShardResult(ENGINE, 42, 10, new ShardSpec(index, count),
+                new VerificationResult(played, passed, List.of(violations)));
+    }
+
+    @Test
+    void shardsPartitionTheGamesWhateverTheCount() {
+        for (int count = 1; count <= 7; count++) {
+            List<Integer> all = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                Arrays.stream(new ShardSpec(i, count).gameIndices(42, 50)).forEach(all::add);
+            }
+            all.sort(null);
+            assertEquals(IntStream.range(0, 50).boxed().toList(), all);
+        }
+    }
+
+    @Test
+    void shardGamesDependOnlyOnTheSeed() {
+        assertArrayEquals(new ShardSpec(1, 3).gameIndices(7, 30), new ShardSpec(1, 3).gameIndices(7, 30));
+    }
+
+    @Test
+    void invalidShardsAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> ShardSpec.parse("3/3"));
+        assertThrows(IllegalArgumentException.class, () -> ShardSpec.parse("0/0"));
+        assertThrows(IllegalArgumentException.class, () -> ShardSpec.parse("2"));
+        assertEquals(new ShardSpec(2, 8), ShardSpec.parse("2/8"));
+    }
+
+    @Test
+    void writeAndReadRoundTripEscapedFields(@TempDir Path dir) throws IOException {
+        Violation tricky = new Violation("Card conservation", "tab\there\nnewline \\ backslash", 3, 7, "P1",
+                "context\\N");
+        Violation crossGame = new Violation("Determinism", "differs", -1);
+        Violation replay = new Violation("Supply depletion", "short", 5, 2, null).inReplayOf("seed 9 game 5");
+        ShardResult written = shard(0, 2, 6, 4, tricky, crossGame, replay);
+        Path file = dir.resolve("shard.txt");
+        written.write(file);
+
+        assertEquals(written, ShardResult.read(file));
+    }
+
+    @Test
+    void readRejectsOtherFiles(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("other.txt");
+        Files.writeString(file, "something else\n");
+        assertThrows(IOException.class, () -> ShardResult.read(file));
+
+        Files.writeString(file, "atg-verifier-shard 1\nshard\t0/1\nplayed\tmany\n");
+        assertThrows(IOException.class, () -> ShardResult.read(file));
+    }
+
+    @Test
+    void mergeOrdersViolationsLikeASingleRun() {
+        Violation replay = new Violation("A", "replay", 8).inReplayOf("seed 1 game 8");
+        Violation game2 = new Violation("A", "game 2", 2);
+        Violation game5 = new Violation("A", "game 5", 5);
+        Violation adversarial = new Violation("B", "case 0", 10);
+        Violation crossGame = new Violation("C", "all", -1);
+        ShardResult first = shard(0, 2, 9, 5, replay, game5, adversarial, crossGame);
+        ShardResult second = shard(1, 2, 5, 4, game2);
+
+        VerificationResult merged = ShardResult.merge(List.of(second, first));
+
+        assertEquals(List.of(replay, game2, game5, adversarial, crossGame), merged.violations());
+        assertEquals(14, merged.gamesPlayed());
+        assertEquals(9, merged.gamesPassed());
+    }
+
+    @Test
+    void mergeRequiresEveryShardOfOneRunExactlyOnce() {
+        assertThrows(IllegalArgumentException.class, () -> ShardResult.merge(List.of()));
+        assertThrows(IllegalArgumentException.class, () -> ShardResult.merge(List.of(shard(0, 2, 1, 1))));
+        assertThrows(IllegalArgumentException.class,
+                () -> ShardResult.merge(List.of(shard(0, 2, 1, 1), shard(0, 2, 1, 1))));
+        ShardResult otherSeed = new ShardResult(ENGINE, 43, 10, new ShardSpec(1, 2),
+                new VerificationResult(1, 1, List.of()));
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> ShardResult.merge(List.of(shard(0, 2, 1, 1), otherSeed)));
+        assertTrue(e.getMessage().contains("different run"));
+    }
+}
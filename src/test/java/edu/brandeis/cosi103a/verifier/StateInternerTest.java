@@ -0,0 +1,58 @@
+package edu.brandeis.cosi103a.verifier;
+
+import com.google.common.collect.ImmutableList;
+import edu.brandeis.cosi.atg.cards.Card;
+import edu.brandeis.cosi.atg.state.CardStacks;
+import edu.brandeis.cosi.atg.state.GameState;
+import edu.brandeis.cosi.atg.state.Hand;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class StateInternerTest {
+    private static final CardStacks SUPPLY = new CardStacks(Map.of(Card.Type.BITCOIN, 40, Card.Type.FRAMEWORK, 8));
+
+    private static GameState state(Card... unplayed) {
+        return new GameState("Alice", new Hand(ImmutableList.of(), ImmutableList.of(unplayed)),
+                GameState.TurnPhase.MONEY, 1, 0, 1, SUPPLY);
+    }
+
+    @Test
+    void equalSnapshotsShareTheFirstInstance() {
+        StateInterner interner = new StateInterner();
+        GameState first = state(new Card(Card.Type.BITCOIN, 1), new Card(Card.Type.METHOD, 2));
+        GameState second = state(new Card(Card.Type.BITCOIN, 1), new Card(Card.Type.METHOD, 2));
+
+        assertSame(first, interner.intern(first));
+        assertSame(first, interner.intern(second));
+    }
+
+    @Test
+    void snapshotsWithOtherCardsOfTheSameTypesStayApart() {
+        StateInterner interner = new StateInterner();
+        GameState first = state(new Card(Card.Type.BITCOIN, 1), new Card(Card.Type.METHOD, 2));
+        GameState otherIds = state(new Card(Card.Type.BITCOIN, 3), new Card(Card.Type.METHOD, 4));
+
+        interner.intern(first);
+        assertSame(otherIds, interner.intern(otherIds));
+    }
+
+    @Test
+    void snapshotsWithTheHandInAnotherOrderStayApart() {
+        StateInterner interner = new StateInterner();
+        GameState first = state(new Card(Card.Type.BITCOIN, 1), new Card(Card.Type.METHOD, 2));
+        GameState reordered = state(new Card(Card.Type.METHOD, 2), new Card(Card.Type.BITCOIN, 1));
+
+        interner.intern(first);
+        assertNotSame(first, interner.intern(reordered));
+    }
+
+    @Test
+    void nullStaysNull() {
+        assertNull(new StateInterner().intern(null));
+    }
+}
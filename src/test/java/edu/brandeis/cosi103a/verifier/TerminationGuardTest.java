@@ -0,0 +1,163 @@
+package edu.brandeis.cosi103a.verifier;
+
+import com.google.common.collect.ImmutableList;
+import edu.brandeis.cosi.atg.cards.Card;
+import edu.brandeis.cosi.atg.state.CardStacks;
+import edu.brandeis.cosi.atg.state.GameState;
+import edu.brandeis.cosi.atg.state.Hand;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TerminationGuardTest {
+    private static final String[] PLAYERS = {"Passive-1", "Passive-2"};
+    private static final GameState.TurnPhase[] PHASES = {
+            GameState.TurnPhase.ACTION, GameState.TurnPhase.MONEY, GameState.TurnPhase.BUY};
+
+    /**
+     * Plays the given number of turns of two players who never buy: each turn is an
+     * ACTION, MONEY and BUY decision, hands cycle through five compositions and the
+     * supply only changes if asked to.
+     */
+    private static void playPassive(TerminationGuard guard, int turns, boolean supplyChangesEachTurn) {
+        playPassive(guard, turns, 0, supplyChangesEachTurn);
+    }
+
+    private static void playPassive(TerminationGuard guard, int turns, int firstTurn, boolean supplyChangesEachTurn) {
+        for (int turn = firstTurn; turn < firstTurn + turns; turn++) {
+            String player = PLAYERS[turn % PLAYERS.length];
+            CardStacks supply = supply(supplyChangesEachTurn ? 40 - turn % 2 : 40);
+            Hand hand = hand(turn % 5);
+            for (GameState.TurnPhase phase : PHASES) {
+                guard.onDecision(player, new GameState(player, hand, phase, 1, 0, 1, supply));
+            }
+        }
+    }
+
+    private static CardStacks supply(int bitcoins) {
+        Map<Card.Type, Integer> counts = new EnumMap<>(Card.Type.class);
+        counts.put(Card.Type.BITCOIN, bitcoins);
+        counts.put(Card.Type.METHOD, 8);
+        counts.put(Card.Type.FRAMEWORK, 8);
+        return new CardStacks(counts);
+    }
+
+    private static Hand hand(int methods) {
+        List<Card> cards = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            cards.add(new Card(i < methods ? Card.Type.METHOD : Card.Type.BITCOIN, i));
+        }
+        return new Hand(ImmutableList.of(), ImmutableList.copyOf(cards));
+    }
+
+    /**
+     * Plays passive turns until the guard stops the game; returns the turn it was
+     * stopped in.
+     */
+    private static int turnStopped(TerminationGuard guard, boolean supplyChangesEachTurn) {
+        for (int turn = 0; ; turn++) {
+            try {
+                playPassive(guard, 1, turn, supplyChangesEachTurn);
+            } catch (NonTerminationException e) {
+                return turn;
+            }
+        }
+    }
+
+    @Test
+    void longButFinitePassiveGamePasses() {
+        // Well past the few hundred turns an engine's own safety valve might allow
+        TerminationGuard guard = new TerminationGuard(TerminationGuard.Limits.defaults());
+
+        playPassive(guard, 800, false);
+
+        assertFalse(guard.tripped());
+    }
+
+    @Test
+    void cyclingGameIsStoppedWellBeforeTheTurnBudget() {
+        TerminationGuard.Limits limits = TerminationGuard.Limits.defaults();
+        TerminationGuard guard = new TerminationGuard(limits);
+
+        int stopped = turnStopped(guard, false);
+
+        assertTrue(stopped < limits.maxTurns() / 4, "stopped in turn " + stopped);
+        assertTrue(stopped >= limits.cycleTurns() * PLAYERS.length, "stopped in turn " + stopped);
+        Violation violation = guard.violation(4, stopped);
+        assertEquals("Game termination", violation.checkName());
+        assertEquals(4, violation.gameIndex());
+        assertTrue(violation.description().startsWith("Game is cycling: " + limits.cycleTurns() + " turns per player"),
+                violation.description());
+    }
+
+    @Test
+    void cycleLengthIsConfigurable() {
+        TerminationGuard guard = new TerminationGuard(new TerminationGuard.Limits(200_000, 5_000, 20));
+
+        int stopped = turnStopped(guard, false);
+
+        // 10 turns until every player/hand combination has been seen, then 20 per player
+        assertTrue(stopped >= 40 && stopped <= 60, "stopped in turn " + stopped);
+    }
+
+    @Test
+    void changingSupplyIsNeverCyclingAndStopsAtTheTurnBudget() {
+        TerminationGuard guard = new TerminationGuard(new TerminationGuard.Limits(200_000, 300, 20));
+
+        NonTerminationException e = assertThrows(NonTerminationException.class,
+                () -> playPassive(guard, 400, true));
+
+        assertTrue(e.getMessage().startsWith("Game exceeded 300 turns"), e.getMessage());
+    }
+
+    @Test
+    void zeroCycleTurnsLeavesOnlyTheBudgets() {
+        TerminationGuard guard = new TerminationGuard(new TerminationGuard.Limits(200_000, 300, 0));
+
+        NonTerminationException e = assertThrows(NonTerminationException.class,
+                () -> playPassive(guard, 400, false));
+
+        assertTrue(e.getMessage().startsWith("Game exceeded 300 turns"), e.getMessage());
+    }
+
+    @Test
+    void turnsAreCountedWhenTheEngineOnlyAsksForBuys() {
+        TerminationGuard guard = new TerminationGuard(new TerminationGuard.Limits(200_000, 100, 500));
+
+        NonTerminationException e = assertThrows(NonTerminationException.class, () -> {
+            for (int turn = 0; turn < 1_000; turn++) {
+                String player = PLAYERS[turn % PLAYERS.length];
+                guard.onDecision(player, new GameState(player, hand(turn % 5), GameState.TurnPhase.BUY, 1, 0, 1,
+                        supply(40 - turn % 2)));
+            }
+        });
+
+        assertTrue(e.getMessage().startsWith("Game exceeded 100 turns"), e.getMessage());
+    }
+
+    @Test
+    void decisionBudgetStopsTheGame() {
+        TerminationGuard guard = new TerminationGuard(new TerminationGuard.Limits(100, 5_000, 500));
+
+        NonTerminationException e = assertThrows(NonTerminationException.class,
+                () -> playPassive(guard, 50, true));
+
+        assertTrue(e.getMessage().startsWith("Game exceeded 100 decisions"), e.getMessage());
+    }
+
+    @Test
+    void trippedGuardKeepsThrowing() {
+        TerminationGuard guard = new TerminationGuard(new TerminationGuard.Limits(10, 5_000, 500));
+        assertThrows(NonTerminationException.class, () -> playPassive(guard, 10, false));
+
+        assertThrows(NonTerminationException.class, () -> playPassive(guard, 1, false));
+    }
+}
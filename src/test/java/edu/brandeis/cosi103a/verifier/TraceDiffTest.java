@@ -0,0 +1,115 @@
+package edu.brandeis.cosi103a.verifier;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TraceDiffTest {
+
+    /**
+     * Steps handed out in blocks of the given size with running hashes, as a stored or
+     * live trace would.
+     */
+    private static StepSource source(List<String> steps, int blockSize) {
+        return new StepSource() {
+            private int position;
+            private long hash;
+
+            @Override
+            public Block next() {
+                if (position >= steps.size()) return null;
+                List<String> block = steps.subList(position, Math.min(position + blockSize, steps.size()));
+                position += block.size();
+                for (String step : block) hash = TraceSteps.hash(hash, step);
+                return new Block(block, hash);
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+    }
+
+    private static String step(String kind, String subject, String money) {
+        return String.join("\t", kind, subject, "", "BUY", "1", money, "1", "-", "-");
+    }
+
+    /** A game of the given number of turns, each a decision and an end-turn event. */
+    private static List<String> game(int turns) {
+        List<String> steps = new ArrayList<>();
+        for (int t = 0; t < turns; t++) {
+            steps.add(step("decision", "P" + t % 2, "3"));
+            steps.add(step("event", "EndTurnEvent", "0"));
+        }
+        return steps;
+    }
+
+    @Test
+    void identicalTracesReportTheirLength() throws IOException {
+        TraceDiff.Comparison c = TraceDiff.compare(source(game(10), 3), source(game(10), 3));
+
+        assertTrue(c.identical());
+        assertEquals(20, c.step());
+    }
+
+    @Test
+    void firstDifferenceIsFoundInsideABlock() throws IOException {
+        List<String> a = game(10);
+        List<String> b = new ArrayList<>(a);
+        b.set(13, step("decision", "P0", "5"));
+
+        TraceDiff.Comparison c = TraceDiff.compare(source(a, 4), source(b, 4));
+
+        assertFalse(c.identical());
+        assertEquals(13, c.step());
+        assertEquals(6, c.turn());
+        assertEquals(a.get(12), c.previous());
+        assertEquals(List.of("kind", "subject", "money"), TraceDiff.differingFields(c));
+        assertEquals("5", TraceDiff.field(c.stepB(), "money"));
+    }
+
+    @Test
+    void aShorterTraceEndsWhereTheOtherGoesOn() throws IOException {
+        TraceDiff.Comparison c = TraceDiff.compare(source(game(5), 4), source(game(6), 4));
+
+        assertEquals(10, c.step());
+        assertEquals(game(6).get(10), c.stepB());
+        assertEquals(TraceDiff.END_OF_TRACE, c.stepA());
+    }
+
+    @Test
+    void differenceInTheFirstStepHasNoPrevious() throws IOException {
+        List<String> b = new ArrayList<>(game(3));
+        b.set(0, step("decision", "P1", "3"));
+
+        TraceDiff.Comparison c = TraceDiff.compare(source(game(3), 2), source(b, 2));
+
+        assertEquals(0, c.step());
+        assertNull(c.previous());
+        assertEquals(List.of("subject"), TraceDiff.differingFields(c));
+    }
+
+    @Test
+    void onlyTheOptionsADiffUsesAreAccepted() {
+        VerifierOptions options = TraceDiff.options(new String[]{"a.jar", "Engine", "4", "--seed", "7",
+                "--max-turns", "300", "--cycle-turns", "20"});
+        assertEquals(4, options.numGames());
+        assertEquals(7, options.seed());
+        assertEquals(300, options.terminationLimits().maxTurns());
+
+        for (String ignored : List.of("--shard", "--gate", "--adaptive", "--corpus", "--verbose", "--lean")) {
+            assertThrows(IllegalArgumentException.class,
+                    () -> TraceDiff.options(new String[]{"a.jar", "Engine", ignored, "x"}), ignored);
+        }
+        assertThrows(IllegalArgumentException.class,
+                () -> TraceDiff.options(new String[]{"a.jar", "Engine", "4", "5"}));
+    }
+}
@@ -0,0 +1,34 @@
+package edu.brandeis.cosi103a.verifier;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class VerifierOptionsTest {
+
+    @Test
+    void copyKeepsEveryOptionButChangesIndependently() {
+        VerifierOptions options = VerifierOptions.fromArgs(new String[]{"engine.jar", "com.example.Engine", "25",
+                "--seed", "7", "--checks", "score-calculation", "--corpus", "corpus.txt", "--trials", "5"});
+
+        VerifierOptions copy = options.copy();
+        copy.seed(99).numGames(3).corpusFile(null);
+        copy.enabledChecks().add(Invariant.RESULTS_SORTED);
+
+        assertEquals(5, copy.trials());
+        assertEquals(7, options.seed());
+        assertEquals(25, options.numGames());
+        assertEquals(Path.of("corpus.txt"), options.corpusFile());
+        assertEquals(Set.of(Invariant.SCORE_CALCULATION), options.enabledChecks());
+    }
+
+    @Test
+    void unknownOptionsAreRejected() {
+        assertThrows(IllegalArgumentException.class,
+                () -> VerifierOptions.fromArgs(new String[]{"engine.jar", "com.example.Engine", "--fast"}));
+    }
+}
@@ -0,0 +1,72 @@
+package edu.brandeis.cosi103a.verifier;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class VerifierServerTest {
+    private static final Path OUTPUT = Path.of("/srv/verifier").toAbsolutePath();
+
+    private static VerifierOptions options(String... flags) {
+        String[] args = new String[flags.length + 2];
+        args[0] = "engine.jar";
+        args[1] = "com.example.Engine";
+        System.arraycopy(flags, 0, args, 2, flags.length);
+        return VerifierOptions.fromArgs(args);
+    }
+
+    @Test
+    void relativeFilesAreResolvedInsideTheOutputDirectory() {
+        VerifierOptions options = options("--shard-out", "shards/0.txt", "--verbose-dir", "traces");
+
+        VerifierServer.confineFiles(options, OUTPUT);
+
+        assertEquals(OUTPUT.resolve("shards/0.txt"), options.shardOut());
+        assertEquals(OUTPUT.resolve("traces"), options.verboseDir());
+        assertNull(options.corpusFile());
+    }
+
+    @Test
+    void absoluteFilesInsideTheOutputDirectoryAreKept() {
+        VerifierOptions options = options("--corpus", OUTPUT.resolve("corpus.txt").toString());
+
+        VerifierServer.confineFiles(options, OUTPUT);
+
+        assertEquals(OUTPUT.resolve("corpus.txt"), options.corpusFile());
+    }
+
+    @Test
+    void filesOutsideTheOutputDirectoryAreRejected() {
+        assertThrows(IllegalArgumentException.class,
+                () -> VerifierServer.confineFiles(options("--profile-engine", "/etc/cron.d/x"), OUTPUT));
+        assertThrows(IllegalArgumentException.class,
+                () -> VerifierServer.confineFiles(options("--baseline-out", "../escape.txt"), OUTPUT));
+        assertThrows(IllegalArgumentException.class,
+                () -> VerifierServer.confineFiles(options("--gate", "a/../../b.txt"), OUTPUT));
+        assertThrows(IllegalArgumentException.class,
+                () -> VerifierServer.confineFiles(options("--verbose-dir", "."), OUTPUT));
+    }
+
+    @Test
+    void withoutAnOutputDirectoryNamingAFileIsRejected() {
+        assertThrows(IllegalArgumentException.class,
+                () -> VerifierServer.confineFiles(options("--jfr", "run.jfr"), null));
+
+        VerifierServer.confineFiles(options("--seed", "7"), null);
+    }
+
+    @Test
+    void jobArgsAreLinesOrAnEncodedForm() {
+        assertEquals(List.of("engine.jar", "com.example.Engine", "5", "--seed", "7"),
+                List.of(VerifierServer.jobArgs("engine.jar\n com.example.Engine \n\n5\n--seed\n7\n")));
+        assertEquals(List.of("/jars/my engine.jar", "com.example.Engine", "--checks", "a*,b&c"),
+                List.of(VerifierServer.jobArgs(
+                        "arg=%2fjars%2fmy%20engine.jar&arg=com.example.Engine&arg=--checks&arg=a%2a%2cb%26c")));
+        assertThrows(IllegalArgumentException.class, () -> VerifierServer.jobArgs("arg=a.jar&other=1"));
+    }
+}
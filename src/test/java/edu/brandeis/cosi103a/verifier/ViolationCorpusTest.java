@@ -0,0 +1,90 @@
+package edu.brandeis.cosi103a.verifier;
+
+import edu.brandeis.cosi.atg.cards.Card;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ViolationCorpusTest {
+    private static final List<Card.Type> KINGDOM = new KingdomPlan(42, VerifierHarness.SETUPS).kingdomFor(0);
+
+    private static ViolationCorpus.Entry entry(String check, int gameIndex, int setup) {
+        return new ViolationCorpus.Entry(check, 42, gameIndex, setup, KINGDOM);
+    }
+
+    @Test
+    void missingFileIsAnEmptyCorpus(@TempDir Path dir) throws IOException {
+        assertTrue(ViolationCorpus.read(dir.resolve("corpus.txt")).games().isEmpty());
+    }
+
+    @Test
+    void writeAndReadRoundTrip(@TempDir Path dir) throws IOException {
+        ViolationCorpus corpus = new ViolationCorpus();
+        corpus.add(entry("Card conservation", 3, 3));
+        corpus.add(entry("Supply depletion", 3, 3));
+        corpus.add(new ViolationCorpus.Entry("Phase ordering", -7, 12, 2, List.of()));
+        Path file = dir.resolve("corpus.txt");
+        corpus.write(file);
+
+        ViolationCorpus read = ViolationCorpus.read(file);
+
+        assertEquals(corpus.games(), read.games());
+        assertEquals(List.of("Card conservation", "Supply depletion"), read.checksFoundBy(entry("", 3, 3)));
+    }
+
+    @Test
+    void eachCheckKeepsOneGamePerSetup() {
+        ViolationCorpus corpus = new ViolationCorpus();
+        corpus.add(entry("Card conservation", 0, 0));
+        corpus.add(entry("Card conservation", 5, 0));
+        corpus.add(entry("Card conservation", 1, 1));
+
+        assertEquals(List.of(entry("", 0, 0), entry("", 1, 1)), corpus.games());
+    }
+
+    @Test
+    void removedGameMakesRoomForAnotherWithItsSetup() {
+        ViolationCorpus corpus = new ViolationCorpus();
+        corpus.add(entry("Card conservation", 0, 0));
+        corpus.remove(entry("Card conservation", 0, 0));
+        assertTrue(corpus.games().isEmpty());
+
+        corpus.add(entry("Card conservation", 5, 0));
+        assertEquals(List.of(entry("", 5, 0)), corpus.games());
+    }
+
+    @Test
+    void gamesGiveEveryCheckOneEarlyAndListSharedGamesOnce() {
+        ViolationCorpus corpus = new ViolationCorpus();
+        corpus.add(entry("A", 0, 0));
+        corpus.add(entry("A", 1, 1));
+        corpus.add(entry("A", 2, 2));
+        corpus.add(entry("B", 7, 4));
+        corpus.add(entry("C", 0, 0));
+        corpus.add(entry("C", 9, 3));
+
+        assertEquals(List.of(entry("", 0, 0), entry("", 7, 4), entry("", 1, 1), entry("", 9, 3), entry("", 2, 2)),
+                corpus.games());
+    }
+
+    @Test
+    void foreignOrMalformedFilesAreRejected(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("corpus.txt");
+        Files.writeString(file, "atg-verifier-shard 1\n");
+        assertThrows(IOException.class, () -> ViolationCorpus.read(file));
+
+        Files.writeString(file, "atg-verifier-corpus 1\nCard conservation\t42\t0\t" + VerifierHarness.SETUPS + "\t\n");
+        assertThrows(IOException.class, () -> ViolationCorpus.read(file));
+
+        Files.writeString(file, "atg-verifier-corpus 1\nCard conservation\t42\t0\t1\tNOT_A_CARD\n");
+        assertThrows(IOException.class, () -> ViolationCorpus.read(file));
+    }
+}